@@ -0,0 +1,224 @@
+package edu.isistan.spellchecker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Corrección de un documento en etapas (ver
+ * {@link SpellChecker#correctDocument(TokenScanner, Writer, CorrectionPolicy, ExecutorService)}):
+ * <ol>
+ * <li> un hilo separa los tokens y los copia en lotes;
+ * <li> otro busca las palabras de cada lote en el diccionario y envía al
+ * executor la corrección de las que no están;
+ * <li> el executor corrige varios lotes a la vez;
+ * <li> otro hilo espera cada lote corregido y lo escribe.
+ * </ol>
+ * Las correcciones se encolan para la escritura en el orden de los lotes, así
+ * que el documento se escribe en orden aunque se corrijan en paralelo. Las
+ * colas son acotadas: si la escritura o la corrección se atrasan, la lectura
+ * se detiene.
+ * <p>
+ * El primer error de una etapa interrumpe a las demás y se relanza al
+ * llamador. Se usa una vez.
+ */
+final class CorrectionPipeline {
+    private static final Batch END = new Batch(0);
+
+    private final SpellChecker checker;
+    private final CorrectionPolicy policy;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int k;
+    private final BlockingQueue<Batch> lookupQueue;
+    private final BlockingQueue<Future<Batch>> writeQueue;
+    private final List<Thread> stages = new ArrayList<Thread>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    private final List<Misspelling> misspellings = new ArrayList<Misspelling>();
+
+    /**
+     * @param batchSize tokens por lote
+     * @param queueCapacity lotes que puede haber en cada cola
+     */
+    CorrectionPipeline(SpellChecker checker, CorrectionPolicy policy, ExecutorService executor, int batchSize,
+            int queueCapacity) {
+        this.checker = checker;
+        this.policy = policy;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.k = checker.correctionsFor(policy);
+        this.lookupQueue = new ArrayBlockingQueue<Batch>(queueCapacity);
+        this.writeQueue = new ArrayBlockingQueue<Future<Batch>>(queueCapacity);
+    }
+
+    // Una etapa, que se ejecuta en su propio hilo
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * Corrige el documento y espera a que termine de escribirse.
+     *
+     * @return las palabras que no están en el diccionario, en el orden del documento
+     * @throws IOException si se produce algún error escribiendo el documento
+     */
+    List<Misspelling> run(final TokenScanner doc, final Writer out) throws IOException {
+        stage("tokenize", new Stage() {
+            public void run() throws InterruptedException {
+                tokenize(doc);
+            }
+        });
+        stage("lookup", new Stage() {
+            public void run() throws InterruptedException {
+                lookup();
+            }
+        });
+        stage("write", new Stage() {
+            public void run() throws Exception {
+                write(out);
+            }
+        });
+        for (Thread stage : stages) {
+            stage.start();
+        }
+        try {
+            for (Thread stage : stages) {
+                stage.join();
+            }
+        } catch (InterruptedException e) {
+            fail(e);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        Throwable t = failure.get();
+        if (t == null) {
+            return misspellings;
+        }
+        for (Future<Batch> pending : writeQueue) {
+            pending.cancel(true);
+        }
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IOException(t);
+    }
+
+    private void stage(String name, final Stage stage) {
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    stage.run();
+                } catch (Throwable t) {
+                    fail(t);
+                }
+            }
+        }, "spellchecker-" + name);
+        thread.setDaemon(true);
+        stages.add(thread);
+    }
+
+    // Registra el primer error e interrumpe a las etapas; los siguientes son consecuencia de él
+    private void fail(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            for (Thread stage : stages) {
+                stage.interrupt();
+            }
+        }
+    }
+
+    private void tokenize(TokenScanner doc) throws InterruptedException {
+        Batch batch = new Batch(batchSize);
+        while (doc.advance()) {
+            batch.add(doc);
+            if (batch.isFull()) {
+                lookupQueue.put(batch);
+                batch = new Batch(batchSize);
+            }
+        }
+        if (batch.size() > 0) {
+            lookupQueue.put(batch);
+        }
+        lookupQueue.put(END);
+    }
+
+    private void lookup() throws InterruptedException {
+        Batch batch;
+        while ((batch = lookupQueue.take()) != END) {
+            batch.lookup(checker);
+            final Batch found = batch;
+            FutureTask<Batch> correction = new FutureTask<Batch>(new Callable<Batch>() {
+                public Batch call() {
+                    found.correct(checker, policy, k);
+                    return found;
+                }
+            });
+            if (batch.numUnknown() == 0) {
+                correction.run();
+            } else {
+                executor.execute(correction);
+            }
+            writeQueue.put(correction);
+        }
+        FutureTask<Batch> end = new FutureTask<Batch>(new Callable<Batch>() {
+            public Batch call() {
+                return END;
+            }
+        });
+        end.run();
+        writeQueue.put(end);
+    }
+
+    private void write(Writer out) throws Exception {
+        Batch batch;
+        try {
+            while ((batch = writeQueue.take().get()) != END) {
+                batch.write(out, batch.replacements);
+                misspellings.addAll(batch.misspellings);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw (Error) e.getCause();
+        }
+    }
+
+    // Un lote con las correcciones de sus palabras
+    private static final class Batch extends TokenBatch {
+        private String[] replacements; // Por cada palabra desconocida, o null si se deja
+        private List<Misspelling> misspellings;
+
+        Batch(int capacity) {
+            super(capacity);
+        }
+
+        void correct(SpellChecker checker, CorrectionPolicy policy, int k) {
+            replacements = new String[numUnknown()];
+            misspellings = new ArrayList<Misspelling>(numUnknown());
+            for (int i = 0; i < numUnknown(); i++) {
+                String word = unknownWord(i);
+                List<String> corrections = checker.getCorrections(word, k);
+                misspellings.add(misspelling(i, word, corrections));
+                replacements[i] = policy.choose(corrections);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.isistan.spellchecker;
+
+import java.util.List;
+
+/**
+ * Qué hace {@link SpellChecker#correctDocument(edu.isistan.spellchecker.tokenizer.TokenScanner, java.io.Writer, CorrectionPolicy)}
+ * con cada palabra que no está en el diccionario, sin preguntarle al usuario.
+ */
+public enum CorrectionPolicy {
+    /**
+     * Reemplaza la palabra por la primera corrección ofrecida: la mejor si el
+     * SpellChecker ordena las sugerencias, la primera en orden alfabético si
+     * no. Si no hay correcciones la deja como está.
+     */
+    AUTO {
+        @Override
+        public String choose(List<String> corrections) {
+            return corrections.isEmpty() ? null : corrections.get(0);
+        }
+    },
+    /**
+     * Deja todas las palabras como están; solo se informan.
+     */
+    REPORT {
+        @Override
+        public String choose(List<String> corrections) {
+            return null;
+        }
+    },
+    /**
+     * Reemplaza la palabra solo si hay exactamente una corrección.
+     */
+    UNIQUE {
+        @Override
+        public String choose(List<String> corrections) {
+            return corrections.size() == 1 ? corrections.get(0) : null;
+        }
+    };
+
+    /**
+     * @param corrections correcciones de una palabra, en el orden en que se ofrecen
+     * @return la palabra que la reemplaza, o null si se deja como está
+     */
+    public abstract String choose(List<String> corrections);
+}
@@ -0,0 +1,230 @@
+package edu.isistan.spellchecker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.isistan.spellchecker.corrector.CaseFolding;
+
+/**
+ * Decisiones del usuario que valen para todas las apariciones de una palabra
+ * en el chequeo interactivo (ver
+ * {@link SpellChecker#checkDocument(edu.isistan.spellchecker.tokenizer.TokenScanner, java.io.InputStream, Writer, CorrectionSession)}):
+ * ignorarla siempre o reemplazarla siempre por otra.
+ * <p>
+ * Las palabras no distinguen mayúsculas: una decisión tomada sobre "Teh"
+ * vale también para "teh" y "TEH". El reemplazo se guarda tal como se
+ * escribió, y en cada aparición sigue las mayúsculas de la palabra: todo en
+ * mayúscula si la palabra está toda en mayúscula, con la primera letra en
+ * mayúscula si la palabra empieza con mayúscula, y tal cual si no.
+ * <p>
+ * Las palabras se buscan en una tabla de hash propia, plegando las
+ * mayúsculas caracter por caracter (ver {@link CaseFolding}), así que
+ * consultar un token que no tiene decisión no crea objetos.
+ * <p>
+ * Puede guardarse en un archivo en UTF-8 y cargarse en otra ejecución. Cada
+ * línea tiene una palabra y, separada por un tabulador, la que la reemplaza;
+ * una línea con solo la palabra indica que se ignora.
+ */
+public class CorrectionSession {
+    private String[] words = new String[16];        // Palabras en minúscula, por hash; null si el lugar está libre
+    private String[] replacements = new String[16]; // Por cada palabra, o null si se ignora
+    private int size;
+
+    /**
+     * Carga una sesión guardada con {@link #save(String)}.
+     *
+     * @param filename archivo de la sesión; si no existe, la sesión empieza vacía
+     * @throws IOException Error leyendo el archivo
+     */
+    public static CorrectionSession load(String filename) throws IOException {
+        CorrectionSession session = new CorrectionSession();
+        if (!new File(filename).exists()) {
+            return session;
+        }
+        BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    session.ignoreAll(line);
+                } else {
+                    session.replaceAll(line.substring(0, tab), line.substring(tab + 1));
+                }
+            }
+        } finally {
+            r.close();
+        }
+        return session;
+    }
+
+    /**
+     * Guarda la sesión, ordenada por palabra.
+     *
+     * @throws IOException Error escribiendo el archivo
+     */
+    public void save(String filename) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8));
+        try {
+            TreeMap<String, String> decisions = new TreeMap<String, String>();
+            for (int i = 0; i < words.length; i++) {
+                if (words[i] != null) {
+                    decisions.put(words[i], replacements[i]);
+                }
+            }
+            for (Map.Entry<String, String> e : decisions.entrySet()) {
+                w.write(e.getKey());
+                if (e.getValue() != null) {
+                    w.write('\t');
+                    w.write(e.getValue());
+                }
+                w.write('\n');
+            }
+        } finally {
+            w.close();
+        }
+    }
+
+    /**
+     * Deja la palabra como está en todas sus apariciones.
+     *
+     * @throws IllegalArgumentException si word es null o vacía
+     */
+    public void ignoreAll(String word) {
+        if (word == null || word.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+        put(word, null);
+    }
+
+    /**
+     * Reemplaza la palabra en todas sus apariciones.
+     *
+     * @throws IllegalArgumentException si word o replacement son null o vacías
+     */
+    public void replaceAll(String word, String replacement) {
+        if (word == null || word.isEmpty() || replacement == null || replacement.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+        put(word, replacement);
+    }
+
+    /**
+     * @return lo que se escribe en lugar de la palabra (la misma palabra si
+     * se ignora), o null si no hay una decisión para ella
+     */
+    public String resolve(String word) {
+        return resolve(word, 0, word.length());
+    }
+
+    /**
+     * Como {@link #resolve(String)} para el tramo [start, end) de una
+     * secuencia, por ejemplo el token actual de un TokenScanner. Solo crea un
+     * String si hay una decisión para la palabra.
+     */
+    public String resolve(CharSequence chars, int start, int end) {
+        int slot = slot(chars, start, end);
+        if (words[slot] == null) {
+            return null;
+        }
+        String replacement = replacements[slot];
+        if (replacement == null) {
+            return chars.subSequence(start, end).toString();
+        }
+        if (!Character.isUpperCase(chars.charAt(start))) {
+            return replacement;
+        }
+        boolean allCaps = end - start > 1;
+        for (int i = start + 1; i < end && allCaps; i++) {
+            allCaps = !Character.isLowerCase(chars.charAt(i));
+        }
+        if (allCaps) {
+            return replacement.toUpperCase(Locale.ROOT);
+        }
+        return Character.toUpperCase(replacement.charAt(0)) + replacement.substring(1);
+    }
+
+    /**
+     * @return true si no hay decisiones
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return cantidad de palabras con una decisión
+     */
+    public int size() {
+        return size;
+    }
+
+    // Guarda la decisión para la palabra, reemplazando la anterior
+    private void put(String word, String replacement) {
+        int slot = slot(word, 0, word.length());
+        if (words[slot] == null) {
+            char[] folded = new char[word.length()];
+            for (int i = 0; i < folded.length; i++) {
+                folded[i] = CaseFolding.fold(word.charAt(i));
+            }
+            words[slot] = new String(folded);
+            size++;
+        }
+        replacements[slot] = replacement;
+        if (2 * size > words.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @return el lugar de la tabla donde está el tramo [start, end), o el
+     * lugar libre donde iría si no está
+     */
+    private int slot(CharSequence chars, int start, int end) {
+        int mask = words.length - 1;
+        int slot = CaseFolding.hash(chars, start, end) & mask;
+        while (words[slot] != null && !matches(words[slot], chars, start, end)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static boolean matches(String word, CharSequence chars, int start, int end) {
+        if (word.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) != CaseFolding.fold(chars.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        String[] oldWords = words;
+        String[] oldReplacements = replacements;
+        words = new String[oldWords.length * 2];
+        replacements = new String[oldWords.length * 2];
+        for (int i = 0; i < oldWords.length; i++) {
+            if (oldWords[i] != null) {
+                int slot = slot(oldWords[i], 0, oldWords[i].length());
+                words[slot] = oldWords[i];
+                replacements[slot] = oldReplacements[i];
+            }
+        }
+    }
+}
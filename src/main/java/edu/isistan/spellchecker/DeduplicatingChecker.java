@@ -0,0 +1,202 @@
+package edu.isistan.spellchecker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Corrige o reporta un documento sin interacción, como
+ * {@link SpellChecker#correctDocument(TokenScanner, Writer, CorrectionPolicy)} y
+ * {@link SpellChecker#reportDocument(TokenScanner, Writer)}, pero pidiendo
+ * las correcciones de cada palabra distinta una sola vez.
+ * <p>
+ * El documento se lee en ventanas de tokens. De cada ventana se juntan las
+ * palabras que no están en el diccionario, se corrigen las que no aparecieron
+ * antes (en paralelo si hay un executor) y recién entonces se escribe la
+ * ventana. Las correcciones se recuerdan durante todo el documento, así que
+ * el costo de corregir depende de la cantidad de palabras distintas y no de
+ * la cantidad de apariciones. Las palabras se distinguen con mayúsculas,
+ * porque las correcciones siguen la capitalización de la palabra.
+ * <p>
+ * La salida es la misma que la de los métodos de SpellChecker. Cada llamada
+ * empieza con las palabras vacías, así que puede usarse para varios
+ * documentos, uno a la vez.
+ */
+public class DeduplicatingChecker {
+    private final SpellChecker checker;
+    private final int window;
+    private final ExecutorService executor;
+    // Palabras que no están en el diccionario, en orden de aparición
+    private final Map<String, Entry> words = new LinkedHashMap<String, Entry>();
+
+    // Una palabra distinta: sus apariciones y sus correcciones
+    private static final class Entry {
+        int count;
+        List<String> corrections;
+    }
+
+    /**
+     * @param checker SpellChecker con que se buscan y corrigen las palabras
+     * @param window tokens por ventana, al menos 1
+     * @param executor donde se corrigen las palabras distintas de cada ventana,
+     * o null para corregirlas en el hilo que llama; no se cierra
+     * @throws IllegalArgumentException si checker es null o window es menor a 1
+     */
+    public DeduplicatingChecker(SpellChecker checker, int window, ExecutorService executor) {
+        if (checker == null) {
+            throw new IllegalArgumentException();
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("window debe ser al menos 1");
+        }
+        this.checker = checker;
+        this.window = window;
+        this.executor = executor;
+    }
+
+    /**
+     * Ver {@link SpellChecker#correctDocument(TokenScanner, Writer, CorrectionPolicy)}.
+     */
+    public List<Misspelling> correctDocument(TokenScanner doc, Writer out, CorrectionPolicy policy)
+            throws IOException {
+        if (doc == null || out == null || policy == null) {
+            throw new IllegalArgumentException();
+        }
+        doc.trackPositions();
+        words.clear();
+        int k = checker.correctionsFor(policy);
+        List<Misspelling> misspellings = new ArrayList<Misspelling>();
+        TokenBatch batch;
+        while ((batch = next(doc, k)) != null) {
+            String[] replacements = new String[batch.numUnknown()];
+            for (int i = 0; i < batch.numUnknown(); i++) {
+                String word = batch.unknownWord(i);
+                List<String> corrections = words.get(word).corrections;
+                misspellings.add(batch.misspelling(i, word, corrections));
+                replacements[i] = policy.choose(corrections);
+            }
+            batch.write(out, replacements);
+        }
+        return misspellings;
+    }
+
+    /**
+     * Ver {@link SpellChecker#reportDocument(TokenScanner, Writer)}.
+     */
+    public long reportDocument(TokenScanner doc, Writer out) throws IOException {
+        if (doc == null || out == null) {
+            throw new IllegalArgumentException();
+        }
+        doc.trackPositions();
+        words.clear();
+        int k = checker.correctionsFor(CorrectionPolicy.REPORT);
+        JsonLinesReport report = new JsonLinesReport(out);
+        long count = 0;
+        TokenBatch batch;
+        while ((batch = next(doc, k)) != null) {
+            for (int i = 0; i < batch.numUnknown(); i++) {
+                String word = batch.unknownWord(i);
+                report.write(batch.misspelling(i, word, words.get(word).corrections));
+                count++;
+            }
+        }
+        report.flush();
+        return count;
+    }
+
+    /**
+     * @return cada palabra distinta del último documento que no está en el
+     * diccionario, en orden de aparición, con la cantidad de veces que apareció
+     */
+    public Map<String, Integer> getCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        for (Map.Entry<String, Entry> e : words.entrySet()) {
+            counts.put(e.getKey(), e.getValue().count);
+        }
+        return counts;
+    }
+
+    /**
+     * Lee la siguiente ventana, cuenta sus palabras que no están en el
+     * diccionario y corrige las nuevas.
+     *
+     * @return la ventana, o null si no quedan tokens
+     */
+    private TokenBatch next(TokenScanner doc, int k) throws IOException {
+        TokenBatch batch = new TokenBatch(window);
+        while (!batch.isFull() && doc.advance()) {
+            batch.add(doc);
+        }
+        if (batch.size() == 0) {
+            return null;
+        }
+        batch.lookup(checker);
+        List<String> pending = new ArrayList<String>();
+        for (int i = 0; i < batch.numUnknown(); i++) {
+            String word = batch.unknownWord(i);
+            Entry entry = words.get(word);
+            if (entry == null) {
+                entry = new Entry();
+                words.put(word, entry);
+                pending.add(word);
+            }
+            entry.count++;
+        }
+        Map<String, List<String>> corrections = correct(pending, k);
+        for (String word : pending) {
+            words.get(word).corrections = corrections.get(word);
+        }
+        return batch;
+    }
+
+    private Map<String, List<String>> correct(List<String> pending, final int k) throws IOException {
+        Map<String, List<String>> corrections = new HashMap<String, List<String>>();
+        if (executor == null || pending.size() < 2) {
+            for (String word : pending) {
+                corrections.put(word, checker.getCorrections(word, k));
+            }
+            return corrections;
+        }
+        List<Future<List<String>>> futures = new ArrayList<Future<List<String>>>(pending.size());
+        for (final String word : pending) {
+            futures.add(executor.submit(new Callable<List<String>>() {
+                public List<String> call() {
+                    return checker.getCorrections(word, k);
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                corrections.put(pending.get(i), futures.get(i).get());
+            }
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        return corrections;
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package edu.isistan.spellchecker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
+
+/**
+ * Corrige sin interacción todos los archivos de un directorio, o los que
+ * coinciden con un glob, y escribe cada uno corregido en la misma ruta
+ * relativa dentro de un directorio de salida.
+ * <p>
+ * Todos los archivos se corrigen con el mismo SpellChecker, así que el
+ * diccionario y el corrector se cargan una sola vez; se consultan desde
+ * varios hilos a la vez. Los archivos se corrigen en un ExecutorService
+ * provisto por el llamador (ver {@link #newExecutor(int)}), con a lo sumo
+ * maxConcurrent abiertos a la vez aunque el executor admita más tareas.
+ */
+public class DirectoryChecker {
+    private final SpellChecker checker;
+    private final CorrectionPolicy policy;
+    private final Charset charset;
+    private final ExecutorService executor;
+    private final int maxConcurrent;
+
+    /**
+     * El executor no se cierra: su ciclo de vida es del llamador.
+     *
+     * @param checker SpellChecker con que se corrige cada archivo
+     * @param policy qué hacer con cada palabra que no está en el diccionario
+     * @param charset codificación de los archivos de entrada y de salida
+     * @param executor donde se corrigen los archivos
+     * @param maxConcurrent cantidad máxima de archivos que se corrigen a la vez, al menos 1
+     * @throws IllegalArgumentException si algún parámetro es null o maxConcurrent es menor a 1
+     */
+    public DirectoryChecker(SpellChecker checker, CorrectionPolicy policy, Charset charset, ExecutorService executor,
+            int maxConcurrent) {
+        if (checker == null || policy == null || charset == null || executor == null) {
+            throw new IllegalArgumentException();
+        }
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent debe ser al menos 1");
+        }
+        this.checker = checker;
+        this.policy = policy;
+        this.charset = charset;
+        this.executor = executor;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Retorna un executor que crea un hilo virtual por tarea si la JVM los
+     * tiene (Java 21 o posterior), o uno de threads hilos si no.
+     *
+     * @param threads cantidad de hilos si no hay hilos virtuales
+     */
+    public static ExecutorService newExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            // JVM sin hilos virtuales
+        } catch (IllegalAccessException e) {
+            // Idem
+        } catch (InvocationTargetException e) {
+            // Idem
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Retorna los archivos a corregir, en orden.
+     *
+     * @param input un directorio, cuyos archivos se recorren recursivamente, o un
+     * glob (por ejemplo <code>docs/*.txt</code>), que se recorre desde el
+     * directorio anterior al primer componente con comodines y se compara con
+     * la ruta relativa a él
+     * @return los archivos, relativos a {@link #root(String)}
+     * @throws IOException si no se puede recorrer el directorio
+     */
+    public static List<Path> list(String input) throws IOException {
+        final Path root = root(input);
+        final PathMatcher matcher = !isGlob(input) ? null
+                : FileSystems.getDefault().getPathMatcher("glob:" + input.substring(prefixLength(input)));
+        final List<Path> files = new ArrayList<Path>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Path relative = root.relativize(file);
+                if (attrs.isRegularFile() && (matcher == null || matcher.matches(relative))) {
+                    files.add(relative);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * @return el directorio desde el que se recorre input: el mismo input si
+     * no tiene comodines, o el anterior al primer componente con comodines
+     */
+    public static Path root(String input) {
+        int prefix = prefixLength(input);
+        return prefix == input.length() ? Paths.get(input) : Paths.get(prefix == 0 ? "." : input.substring(0, prefix));
+    }
+
+    /**
+     * @return true si input tiene comodines de glob
+     */
+    public static boolean isGlob(String input) {
+        return prefixLength(input) < input.length();
+    }
+
+    // Largo de los componentes de input anteriores al primero con comodines
+    private static int prefixLength(String input) {
+        int prefix = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return prefix;
+            }
+            if (c == '/' || c == '\\') {
+                prefix = i + 1;
+            }
+        }
+        return input.length();
+    }
+
+    /**
+     * Corrige los archivos de input (ver {@link #list(String)}) y escribe
+     * cada uno en la misma ruta relativa dentro de output, creando los
+     * directorios que falten. Si algún archivo no se puede corregir, los
+     * demás se corrigen igual.
+     *
+     * @param input directorio o glob de los archivos a corregir
+     * @param output directorio de salida
+     * @return cantidad de archivos corregidos
+     * @throws IOException si no se puede recorrer input, o con los errores de
+     * los archivos que no se pudieron corregir como excepciones suprimidas
+     * @throws IllegalArgumentException si algún parámetro es null
+     */
+    public int checkAll(String input, Path output) throws IOException {
+        if (input == null || output == null) {
+            throw new IllegalArgumentException();
+        }
+        Path root = root(input);
+        List<Path> files = list(input);
+        final Semaphore permits = new Semaphore(maxConcurrent);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(files.size());
+        try {
+            for (Path file : files) {
+                final Path in = root.resolve(file);
+                final Path out = output.resolve(file.toString());
+                permits.acquire();
+                try {
+                    futures.add(executor.submit(new Callable<Void>() {
+                        public Void call() throws IOException {
+                            try {
+                                check(in, out);
+                            } finally {
+                                permits.release();
+                            }
+                            return null;
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+            IOException failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new IOException("no se pudieron corregir todos los archivos");
+                    }
+                    failure.addSuppressed(new IOException(files.get(i).toString(), e.getCause()));
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        return files.size();
+    }
+
+    private void check(Path in, Path out) throws IOException {
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        MappedTokenScanner doc = new MappedTokenScanner(in.toFile(), charset);
+        try {
+            Writer w = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(out), charset));
+            try {
+                checker.correctDocument(doc, w, policy);
+            } finally {
+                w.close();
+            }
+        } finally {
+            doc.close();
+        }
+    }
+}
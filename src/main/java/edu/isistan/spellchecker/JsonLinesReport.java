@@ -0,0 +1,98 @@
+package edu.isistan.spellchecker;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Reporte de palabras mal escritas en formato JSON Lines: un objeto por
+ * línea, que se escribe apenas se recibe la palabra, por ejemplo
+ * <pre>
+ * {"word":"Tghe","offset":0,"line":1,"column":1,"suggestions":["The"]}
+ * </pre>
+ * Las sugerencias van en el orden en que se ofrecen. No guarda nada de las
+ * palabras ya escritas, así que la memoria no depende del tamaño del
+ * documento.
+ */
+public class JsonLinesReport implements Closeable, Flushable {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    /**
+     * @param out donde se escribe el reporte; si no es un BufferedWriter se
+     * le antepone uno
+     * @throws IllegalArgumentException si out es null
+     */
+    public JsonLinesReport(Writer out) {
+        if (out == null) {
+            throw new IllegalArgumentException();
+        }
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+    }
+
+    /**
+     * Escribe la línea de una palabra mal escrita.
+     *
+     * @throws IOException si se produce algún error escribiendo
+     */
+    public void write(Misspelling m) throws IOException {
+        out.write("{\"word\":");
+        string(m.getWord());
+        out.write(",\"offset\":");
+        out.write(Long.toString(m.getOffset()));
+        out.write(",\"line\":");
+        out.write(Integer.toString(m.getLine()));
+        out.write(",\"column\":");
+        out.write(Integer.toString(m.getColumn()));
+        out.write(",\"suggestions\":[");
+        List<String> corrections = m.getCorrections();
+        for (int i = 0; i < corrections.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            string(corrections.get(i));
+        }
+        out.write("]}\n");
+    }
+
+    // Escribe s como string de JSON, escapando las comillas, la barra y los caracteres de control
+    private void string(String s) throws IOException {
+        out.write('"');
+        int from = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                out.write(s, from, i - from);
+                out.write('\\');
+                if (c == '"' || c == '\\') {
+                    out.write(c);
+                } else if (c == '\n') {
+                    out.write('n');
+                } else if (c == '\t') {
+                    out.write('t');
+                } else if (c == '\r') {
+                    out.write('r');
+                } else {
+                    out.write("u00");
+                    out.write(HEX[c >>> 4]);
+                    out.write(HEX[c & 0xf]);
+                }
+                from = i + 1;
+            }
+        }
+        out.write(s, from, s.length() - from);
+        out.write('"');
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    public void close() throws IOException {
+        out.close();
+    }
+}
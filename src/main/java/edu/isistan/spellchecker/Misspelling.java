@@ -0,0 +1,85 @@
+package edu.isistan.spellchecker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Una palabra de un documento que no está en el diccionario, con su posición
+ * y las correcciones que ofrece el Corrector.
+ * Es inmutable.
+ */
+public final class Misspelling {
+    private final String word;
+    private final long offset;
+    private final int line;
+    private final int column;
+    private final List<String> corrections;
+
+    /**
+     * @param word palabra tal como aparece en el documento
+     * @param offset posición (en caracteres) de la palabra en el documento
+     * @param line línea de la palabra, desde 1
+     * @param column columna de la palabra en su línea, en caracteres desde 1
+     * @param corrections correcciones, en el orden en que se ofrecen
+     * @throws IllegalArgumentException si word o corrections son null, offset es negativo
+     * o line o column son menores a 1
+     */
+    public Misspelling(String word, long offset, int line, int column, List<String> corrections) {
+        if (word == null || corrections == null || offset < 0 || line < 1 || column < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.word = word;
+        this.offset = offset;
+        this.line = line;
+        this.column = column;
+        this.corrections = Collections.unmodifiableList(new ArrayList<String>(corrections));
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return una copia con otra línea y columna
+     */
+    public Misspelling withPosition(int line, int column) {
+        return new Misspelling(word, offset, line, column, corrections);
+    }
+
+    public List<String> getCorrections() {
+        return corrections;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Misspelling)) {
+            return false;
+        }
+        Misspelling other = (Misspelling) o;
+        return offset == other.offset && line == other.line && column == other.column
+                && word.equals(other.word) && corrections.equals(other.corrections);
+    }
+
+    @Override
+    public int hashCode() {
+        return (word.hashCode() * 31 + Long.hashCode(offset)) * 31 + corrections.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return word + "@" + line + ":" + column + " " + corrections;
+    }
+}
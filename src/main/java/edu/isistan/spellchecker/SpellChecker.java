@@ -6,9 +6,13 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import edu.isistan.spellchecker.corrector.Corrector;
-import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.Suggestion;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 /**
@@ -28,18 +32,279 @@ import edu.isistan.spellchecker.tokenizer.TokenScanner;
  * @see SpellCheckerRunner
  */
 public class SpellChecker {
+    //Caracteres que chequea cada tarea de findMisspellings en paralelo
+    private static final int CHUNK_SIZE = 1 << 15;
+    //Tokens por lote y lotes en cada cola de correctDocument en etapas
+    private static final int PIPELINE_BATCH_SIZE = 1024;
+    private static final int PIPELINE_QUEUE_CAPACITY = 8;
+
     private Corrector corr;
-    private Dictionary dict;
+    private Lexicon dict;
+    private int maxSuggestions; //0 = todas las correcciones, en orden alfabtico
 
     /**
      * Constructor del SpellChecker
      *
      * @param c un Corrector
-     * @param d un Dictionary
+     * @param d un Lexicon (Dictionary, TrieDictionary, HashDictionary, ...)
+     */
+    public SpellChecker(Corrector c, Lexicon d) {
+        this(c, d, 0);
+    }
+
+    /**
+     * Constructor del SpellChecker que ofrece solo las mejores sugerencias
+     * (ver Corrector.getSuggestions), de la mejor a la peor.
+     *
+     * @param c un Corrector
+     * @param d un Lexicon (Dictionary, TrieDictionary, HashDictionary, ...)
+     * @param maxSuggestions cantidad de sugerencias a ofrecer, o 0 para ofrecer todas en orden alfabtico
+     * @throws IllegalArgumentException si maxSuggestions es negativo
      */
-    public SpellChecker(Corrector c, Dictionary d) {
+    public SpellChecker(Corrector c, Lexicon d, int maxSuggestions) {
+        if (maxSuggestions < 0) {
+            throw new IllegalArgumentException("maxSuggestions no puede ser negativo");
+        }
         corr = c;
         dict = d;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Retorna las correcciones a ofrecer para una palabra.
+     *
+     * @param word palabra que no est en el diccionario
+     */
+    private List<String> getCorrections(String word) {
+        return getCorrections(word, maxSuggestions);
+    }
+
+    /**
+     * @return true si el tramo [start, end) es una palabra del diccionario
+     */
+    boolean isKnown(CharSequence chars, int start, int end) {
+        return dict.isWord(chars, start, end);
+    }
+
+    /**
+     * Retorna cuntas correcciones pedir con una poltica: con UNIQUE al
+     * menos dos, para saber si la correccin es nica.
+     */
+    int correctionsFor(CorrectionPolicy policy) {
+        return policy == CorrectionPolicy.UNIQUE && maxSuggestions == 1 ? 2 : maxSuggestions;
+    }
+
+    /**
+     * Retorna las k mejores correcciones de una palabra, o todas en orden
+     * alfabtico si k es 0.
+     */
+    List<String> getCorrections(String word, int k) {
+        if (k == 0) {
+            return new ArrayList<String>(corr.getCorrections(word));
+        }
+        List<String> corrections = new ArrayList<String>(k);
+        for (Suggestion suggestion : corr.getSuggestions(word, k)) {
+            corrections.add(suggestion.getWord());
+        }
+        return corrections;
+    }
+
+    /**
+     * Busca, sin interaccin, las palabras del tramo [start, end) de un texto
+     * que no estn en el diccionario, junto con sus correcciones.
+     *
+     * @param text texto a chequear
+     * @param start comienzo del tramo
+     * @param end fin del tramo
+     * @return las palabras mal escritas, en el orden en que aparecen; sus
+     * posiciones son posiciones en text, y las lneas y columnas se cuentan
+     * desde start
+     * @throws IllegalArgumentException si text es null o el tramo no est dentro de text
+     */
+    public List<Misspelling> findMisspellings(char[] text, int start, int end) {
+        List<Misspelling> misspellings = new ArrayList<Misspelling>();
+        TokenScanner doc = new TokenScanner(text, start, end);
+        doc.trackPositions();
+        while (doc.advance()) {
+            int tokenStart = doc.getTokenStart();
+            int tokenEnd = doc.getTokenEnd();
+            if (doc.isWordToken() && !dict.isWord(doc.getToken(), 0, tokenEnd - tokenStart)) {
+                String word = new String(text, tokenStart, tokenEnd - tokenStart);
+                misspellings.add(new Misspelling(word, tokenStart, doc.getTokenLine(), doc.getTokenColumn(),
+                        getCorrections(word)));
+            }
+        }
+        return misspellings;
+    }
+
+    /**
+     * Como {@link #findMisspellings(char[], int, int)}, pero dividiendo el
+     * tramo en partes que se chequean en paralelo en un ForkJoinPool.
+     * <p>
+     * Las partes se cortan delante de un caracter que no es de palabra, as
+     * que ninguna palabra queda partida, y los resultados se unen en el orden
+     * del texto: el resultado es el mismo que el secuencial. El Corrector y el
+     * Lexicon se consultan desde varios hilos a la vez.
+     *
+     * @param pool pool donde se ejecutan las partes
+     * @throws IllegalArgumentException si text o pool son null o el tramo no est dentro de text
+     */
+    public List<Misspelling> findMisspellings(char[] text, int start, int end, ForkJoinPool pool) {
+        if (text == null || pool == null || start < 0 || end > text.length || start > end) {
+            throw new IllegalArgumentException();
+        }
+        List<Misspelling> misspellings = pool.invoke(new FindMisspellings(text, start, end));
+        // Cada parte cuenta lneas y columnas desde su comienzo: se recalculan desde start
+        int line = 1;
+        int lineStart = start;
+        int i = start;
+        for (ListIterator<Misspelling> it = misspellings.listIterator(); it.hasNext();) {
+            Misspelling m = it.next();
+            for (; i < m.getOffset(); i++) {
+                if (text[i] == '\n') {
+                    line++;
+                    lineStart = i + 1;
+                }
+            }
+            it.set(m.withPosition(line, (int) (m.getOffset() - lineStart + 1)));
+        }
+        return misspellings;
+    }
+
+    // Parte de un texto a chequear; se divide a la mitad hasta CHUNK_SIZE caracteres
+    private class FindMisspellings extends RecursiveTask<List<Misspelling>> {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] text;
+        private final int start;
+        private final int end;
+
+        FindMisspellings(char[] text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Misspelling> compute() {
+            if (end - start > CHUNK_SIZE) {
+                int middle = start + (end - start) / 2;
+                while (middle < end && TokenScanner.isWordCharacter(text[middle])) {
+                    middle++;
+                }
+                if (middle < end) {
+                    FindMisspellings left = new FindMisspellings(text, start, middle);
+                    left.fork();
+                    List<Misspelling> right = new FindMisspellings(text, middle, end).compute();
+                    List<Misspelling> misspellings = left.join();
+                    misspellings.addAll(right);
+                    return misspellings;
+                }
+            }
+            return findMisspellings(text, start, end);
+        }
+    }
+
+    /**
+     * Corrige un documento sin interaccin: cada palabra que no est en el
+     * diccionario se reemplaza o se deja segn la poltica, y el resto de los
+     * tokens se escribe tal cual.
+     * <p>
+     * No lee ni escribe la consola. Con UNIQUE se piden al menos dos
+     * sugerencias, para saber si la correccin es nica.
+     *
+     * @param doc    tokens del documento de entrada.
+     * @param out    stream donde se escribe el documento corregido.
+     * @param policy qu hacer con cada palabra que no est en el diccionario
+     * @return las palabras que no estn en el diccionario, en el orden del
+     * documento, con sus correcciones
+     * @throws IOException si se produce algn error escribiendo el documento.
+     * @throws IllegalArgumentException si algn parmetro es null
+     */
+    public List<Misspelling> correctDocument(TokenScanner doc, Writer out, CorrectionPolicy policy)
+            throws IOException {
+        if (doc == null || out == null || policy == null) {
+            throw new IllegalArgumentException();
+        }
+        doc.trackPositions();
+        int k = correctionsFor(policy);
+        List<Misspelling> misspellings = new ArrayList<Misspelling>();
+        while (doc.advance()) {
+            char[] buffer = doc.getTokenBuffer();
+            int start = doc.getTokenStart();
+            int end = doc.getTokenEnd();
+            if (!doc.isWordToken() || dict.isWord(doc.getToken(), 0, end - start)) {
+                out.write(buffer, start, end - start);
+            } else {
+                String word = new String(buffer, start, end - start);
+                List<String> corrections = getCorrections(word, k);
+                misspellings.add(new Misspelling(word, doc.getTokenOffset(), doc.getTokenLine(),
+                        doc.getTokenColumn(), corrections));
+                String replacement = policy.choose(corrections);
+                out.write(replacement != null ? replacement : word);
+            }
+        }
+        return misspellings;
+    }
+
+    /**
+     * Escribe, sin interaccin, un reporte en formato JSON Lines (ver
+     * {@link JsonLinesReport}) con una lnea por cada palabra del documento
+     * que no est en el diccionario, a medida que se encuentran. Cada lnea
+     * tiene la palabra, su posicin y las sugerencias, en el orden en que se
+     * ofrecen. No se guarda nada del documento: la memoria no depende de su
+     * tamao.
+     *
+     * @param doc tokens del documento.
+     * @param out stream donde se escribe el reporte; se vaca, pero no se cierra.
+     * @return la cantidad de palabras que no estn en el diccionario
+     * @throws IOException si se produce algn error escribiendo el reporte.
+     * @throws IllegalArgumentException si algn parmetro es null
+     */
+    public long reportDocument(TokenScanner doc, Writer out) throws IOException {
+        if (doc == null || out == null) {
+            throw new IllegalArgumentException();
+        }
+        doc.trackPositions();
+        JsonLinesReport report = new JsonLinesReport(out);
+        long count = 0;
+        while (doc.advance()) {
+            int length = doc.getTokenEnd() - doc.getTokenStart();
+            if (doc.isWordToken() && !dict.isWord(doc.getToken(), 0, length)) {
+                String word = new String(doc.getTokenBuffer(), doc.getTokenStart(), length);
+                report.write(new Misspelling(word, doc.getTokenOffset(), doc.getTokenLine(), doc.getTokenColumn(),
+                        getCorrections(word)));
+                count++;
+            }
+        }
+        report.flush();
+        return count;
+    }
+
+    /**
+     * Como {@link #correctDocument(TokenScanner, Writer, CorrectionPolicy)},
+     * pero en etapas que se ejecutan a la vez: un hilo lee y separa los
+     * tokens, otro los busca en el diccionario, el executor genera las
+     * correcciones y otro hilo escribe el documento corregido. Las etapas se
+     * pasan los tokens en lotes por colas acotadas, as que la lectura y la
+     * escritura no esperan a una correccin lenta, y el resultado es el mismo
+     * que el secuencial. El Corrector y el Lexicon se consultan desde varios
+     * hilos a la vez.
+     * <p>
+     * El executor no se cierra: su ciclo de vida es del llamador.
+     *
+     * @param executor donde se generan las correcciones
+     * @throws IOException si se produce algn error escribiendo el documento.
+     * @throws IllegalArgumentException si algn parmetro es null
+     */
+    public List<Misspelling> correctDocument(TokenScanner doc, Writer out, CorrectionPolicy policy,
+            ExecutorService executor) throws IOException {
+        if (doc == null || out == null || policy == null || executor == null) {
+            throw new IllegalArgumentException();
+        }
+        doc.trackPositions();
+        return new CorrectionPipeline(this, policy, executor, PIPELINE_BATCH_SIZE, PIPELINE_QUEUE_CAPACITY)
+                .run(doc, out);
     }
 
     /**
@@ -87,35 +352,87 @@ public class SpellChecker {
      * @throws IOException si se produce algn error leyendo el documento.
      */
     public void checkDocument(Reader in, InputStream input, Writer out) throws IOException {
+        checkDocument(new TokenScanner(in), input, out);
+    }
+
+    /**
+     * Como {@link #checkDocument(Reader, InputStream, Writer)}, pero recorriendo
+     * un TokenScanner ya creado, por ejemplo un MappedTokenScanner.
+     *
+     * @param doc   tokens del documento de entrada.
+     * @param input entrada interactiva del usuario. Por ejemplo, entrada estandar System.in
+     * @param out   stream donde se escribe el documento de salida.
+     * @throws IOException si se produce algn error escribiendo el documento.
+     */
+    public void checkDocument(TokenScanner doc, InputStream input, Writer out) throws IOException {
+        checkDocument(doc, input, out, null);
+    }
+
+    /**
+     * Como {@link #checkDocument(TokenScanner, InputStream, Writer)}, pero
+     * adems ofrece ignorar o reemplazar una palabra en todas sus apariciones
+     * (opciones n+2 y n+3, donde n es la cantidad de correcciones). Esas
+     * decisiones se guardan en la sesin, que se consulta antes que el
+     * diccionario y el corrector: las siguientes apariciones de la palabra no
+     * se vuelven a corregir ni a preguntar.
+     *
+     * @param doc     tokens del documento de entrada.
+     * @param input   entrada interactiva del usuario. Por ejemplo, entrada estandar System.in
+     * @param out     stream donde se escribe el documento de salida.
+     * @param session decisiones para todas las apariciones, o null para el men sin ellas
+     * @throws IOException si se produce algn error escribiendo el documento.
+     */
+    public void checkDocument(TokenScanner doc, InputStream input, Writer out, CorrectionSession session)
+            throws IOException {
         Scanner sc = new Scanner(input);
-        TokenScanner doc = new TokenScanner(in);
-        while (doc.hasNext()) {
-            String wordToBeRead = doc.next();
-            //non-word tokens ouputted verbatim
-            if (!TokenScanner.isWord(wordToBeRead)) {
-                out.write(wordToBeRead);
+        while (doc.advance()) {
+            char[] buffer = doc.getTokenBuffer();
+            int start = doc.getTokenStart();
+            int end = doc.getTokenEnd();
+            String decided = null;
+            if (session != null && !session.isEmpty() && doc.isWordToken()) {
+                decided = session.resolve(doc.getToken(), 0, end - start);
+            }
+            //words already decided for the whole session
+            if (decided != null) {
+                out.write(decided);
+                //non-word tokens ouputted verbatim, straight from the scanner buffer
+            } else if (!doc.isWordToken()) {
+                out.write(buffer, start, end - start);
                 //words in the dictionary ouputted verbatim
-            } else if (dict.isWord(wordToBeRead)) {
-                out.write(wordToBeRead);
+            } else if (dict.isWord(doc.getToken(), 0, end - start)) {
+                out.write(buffer, start, end - start);
             } else {
-                Set<String> correct = corr.getCorrections(wordToBeRead);
-                String[] correctionsArray = correct.toArray(new String[correct.size()]);
+                String wordToBeRead = new String(buffer, start, end - start);
+                List<String> corrections = getCorrections(wordToBeRead);
                 System.out.println("The word: " + wordToBeRead + " is not in the dictionary. Please enter the number "
                         + "corresponding with the appropriate action: ");
                 System.out.println("0: Ignore and continue");
                 System.out.println("1: Replace with another word");
-                for (int i = 0; i < correctionsArray.length; i++) {
-                    System.out.println("Replace with " + correctionsArray[i]);
+                for (String correction : corrections) {
+                    System.out.println("Replace with " + correction);
                 }
-                int userSelection = getNextInt(0, correctionsArray.length + 1, sc);
+                int n = corrections.size();
+                if (session != null) {
+                    System.out.println((n + 2) + ": Ignore all");
+                    System.out.println((n + 3) + ": Replace all with another word");
+                }
+                int userSelection = getNextInt(0, session != null ? n + 3 : n + 1, sc);
                 //Output depending on user selection
                 if (userSelection == 0) {
                     out.write(wordToBeRead);
                 } else if (userSelection == 1) {
                     out.write(getNextString(sc));
                     ;
+                } else if (userSelection == n + 2) {
+                    session.ignoreAll(wordToBeRead);
+                    out.write(wordToBeRead);
+                } else if (userSelection == n + 3) {
+                    String replacement = getNextString(sc);
+                    session.replaceAll(wordToBeRead, replacement);
+                    out.write(replacement);
                 } else {
-                    out.write(correctionsArray[userSelection - 2]);
+                    out.write(corrections.get(userSelection - 2));
                 }
             }
         }
@@ -1,17 +1,43 @@
 package edu.isistan.spellchecker;
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.Reader;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
+import edu.isistan.spellchecker.corrector.BloomFilterLexicon;
 import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.DawgDictionary;
 import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.FrequencyDictionary;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.MappedDictionary;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+import edu.isistan.spellchecker.corrector.TrieLexicon;
+import edu.isistan.spellchecker.corrector.impl.BKTreeCorrector;
+import edu.isistan.spellchecker.corrector.impl.CachingCorrector;
+import edu.isistan.spellchecker.corrector.impl.ChainedCorrector;
+import edu.isistan.spellchecker.corrector.impl.DamerauLevenshtein;
 import edu.isistan.spellchecker.corrector.impl.FileCorrector;
 import edu.isistan.spellchecker.corrector.impl.Levenshtein;
 import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import edu.isistan.spellchecker.corrector.impl.SymSpellCorrector;
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
 
 /**
  * 
@@ -19,15 +45,66 @@ import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
  * <p>
  * Puede ser usado desde linea de comando:
  * <p>
- * <code>java SpellCheckerRunner &ltin&gt &ltout&gt &ltdictionary&gt &ltcorrector&gt</code>
+ * <code>java SpellCheckerRunner [opciones] &ltin&gt &ltout&gt &ltdictionary&gt &ltcorrector&gt</code>
  * <p>
  * <ul>
  * <li> &ltin&gt - archivo de entrada
  * <li> &ltout&gt - archivo de salida
  * <li> &ltdictionary&gt - diccionario.
  * <li> &ltcorrector&gt -  SWAP (para SwapCorrector), 
- * LEV (para Levenshtein), o nombre de archivo (para FileCorrector)
+ * LEV (para Levenshtein), DAMLEV (para DamerauLevenshtein, SWAP y LEV en una pasada),
+ * SYMSPELL (para SymSpellCorrector), BKTREE (para BKTreeCorrector),
+ * o nombre de archivo (para FileCorrector). Varios correctores separados por coma,
+ * por ejemplo <code>misspellings.txt,SWAP,LEV</code>, forman un ChainedCorrector que los
+ * consulta en ese orden.
  * </ul>
+ * <p>
+ * Opciones:
+ * <ul>
+ * <li> --backend=TREE|TRIE|DAWG|HASH|MAPPED|FREQ - implementación del diccionario (por defecto TREE).
+ * MAPPED espera un diccionario compilado. FREQ acepta líneas palabra&lt;TAB&gt;frecuencia, usadas
+ * para ordenar las sugerencias (ver --suggestions).
+ * <li> --charset=NOMBRE - codificación del documento de entrada y de salida (por defecto UTF-8).
+ * Los diccionarios y archivos de correcciones se leen en UTF-8.
+ * <li> --jobs=N - chequea el documento sin interacción, dividido en partes que se procesan en N
+ * hilos, y escribe en &ltout&gt una línea posición&lt;TAB&gt;línea&lt;TAB&gt;columna&lt;TAB&gt;palabra&lt;TAB&gt;correcciones
+ * por cada palabra mal escrita.
+ * <li> --session[=archivo] - en el modo interactivo, ofrece además ignorar o reemplazar una palabra
+ * en todas sus apariciones (ver CorrectionSession). Si se da un archivo, las decisiones se cargan de
+ * él al empezar y se guardan en él al terminar, para usarlas en otras ejecuciones.
+ * <li> --json - escribe en &ltout&gt, sin interacción, un reporte JSON Lines con un objeto
+ * {"word", "offset", "line", "column", "suggestions"} por cada palabra mal escrita, en lugar del
+ * documento corregido (ver JsonLinesReport). El reporte se escribe siempre en UTF-8.
+ * <li> --policy=AUTO|REPORT|UNIQUE - corrige el documento sin interacción (ver CorrectionPolicy):
+ * AUTO reemplaza cada palabra mal escrita por la primera sugerencia, REPORT las deja como están y
+ * UNIQUE las reemplaza solo si hay una única sugerencia. Las que quedan sin reemplazar se informan
+ * en la salida estándar, una línea por palabra con el mismo formato que --jobs.
+ * <li> --threads=N - con --policy, si &ltin&gt es un directorio o un glob (por ejemplo
+ * <code>'docs/*.txt'</code>), corrige todos sus archivos, a lo sumo N a la vez (por defecto, uno
+ * por procesador), con el mismo diccionario y corrector, y los escribe en la misma ruta relativa
+ * dentro del directorio &ltout&gt (ver DirectoryChecker). Usa hilos virtuales si la JVM los tiene.
+ * <li> --dedup[=W] - con --policy o --json, lee el documento en ventanas de W tokens (por defecto
+ * 65536) y pide las correcciones de cada palabra mal escrita distinta una sola vez, en paralelo, en
+ * lugar de una vez por aparición (ver DeduplicatingChecker).
+ * <li> --pipeline[=N] - con --policy, lee, busca, corrige y escribe en etapas que se ejecutan a la vez,
+ * corrigiendo en N hilos (por defecto, uno por procesador).
+ * <li> --bloom[=P] - antepone al diccionario un filtro de Bloom con tasa de falsos positivos P
+ * (por defecto 0.01), que descarta sin consultarlo la mayoría de los candidatos de SWAP, LEV y DAMLEV.
+ * <li> --distance=N - distancia máxima de LEV, SYMSPELL y BKTREE (por defecto 1). Con TRIE o DAWG,
+ * LEV busca recorriendo el Trie; los demás diccionarios solo admiten distancia 1.
+ * <li> --index=archivo - BK-tree guardado de BKTREE. Si el archivo existe se carga en lugar
+ * de construir el árbol; si no, el árbol construido se guarda ahí.
+ * <li> --cache=N - guarda las correcciones de hasta N palabras distintas (ver CachingCorrector).
+ * <li> --min-suggestions=N - en una cadena, deja de consultar correctores al juntar N sugerencias
+ * (por defecto 1).
+ * <li> --parallel - en una cadena, consulta todos los correctores en paralelo y une sus sugerencias.
+ * <li> --suggestions=K - ofrece solo las K mejores sugerencias, de la mejor a la peor, en lugar de
+ * todas en orden alfabético.
+ * </ul>
+ * <p>
+ * Para compilar un diccionario de texto al formato binario de MappedDictionary:
+ * <p>
+ * <code>java SpellCheckerRunner --compile &ltdictionary&gt &ltcompiled&gt</code>
  * 
  */
 public class SpellCheckerRunner {
@@ -36,33 +113,346 @@ public class SpellCheckerRunner {
 	 * 
 	 * @param type
 	 * @param dict
+	 * @param distance distancia máxima para LEV, SYMSPELL y BKTREE
+	 * @param index archivo del BK-tree guardado, o null
 	 * @throws IOException
 	 * @throws FileCorrector.FormatException
 	 */
-	private static Corrector makeCorrector(String type, Dictionary dict)
+	private static Corrector makeCorrector(String type, Lexicon dict, int distance, String index)
 			throws IOException, FileCorrector.FormatException {
 		if (type.equals("SWAP")) {
 			return new SwapCorrector(dict);
 		}
 		if (type.equals("LEV")) {
+			// El recorrido del Trie no consulta candidatos, así que no usa el filtro
+			Lexicon base = dict instanceof BloomFilterLexicon ? ((BloomFilterLexicon) dict).getLexicon() : dict;
+			if (base instanceof TrieLexicon) {
+				return new Levenshtein((TrieLexicon) base, distance);
+			}
+			if (distance != 1) {
+				throw new IllegalArgumentException("--distance requiere --backend=TRIE o DAWG");
+			}
 			return new Levenshtein(dict);
 		}
+		if (type.equals("DAMLEV")) {
+			return new DamerauLevenshtein(dict);
+		}
+		if (type.equals("SYMSPELL")) {
+			return new SymSpellCorrector(dict, distance);
+		}
+		if (type.equals("BKTREE")) {
+			if (index != null && new File(index).exists()) {
+				return BKTreeCorrector.load(index, distance);
+			}
+			BKTreeCorrector tree = new BKTreeCorrector(dict, distance);
+			if (index != null) {
+				tree.save(index);
+			}
+			return tree;
+		}
 
 		return FileCorrector.make(type);
 	}
 
+	/**
+	 * Crea el diccionario con la implementación pedida por la linea de comando.
+	 *
+	 * @param backend TREE (Dictionary), TRIE (TrieDictionary), DAWG (DawgDictionary),
+	 * HASH (HashDictionary), MAPPED (MappedDictionary) o FREQ (FrequencyDictionary)
+	 * @param filename archivo del diccionario
+	 * @throws IOException
+	 * @throws IllegalArgumentException si el backend no existe
+	 */
+	private static Lexicon makeDictionary(String backend, String filename) throws IOException {
+		if (backend.equals("TREE")) {
+			return Dictionary.make(filename);
+		}
+		if (backend.equals("TRIE")) {
+			return TrieDictionary.make(filename);
+		}
+		if (backend.equals("DAWG")) {
+			return DawgDictionary.make(filename);
+		}
+		if (backend.equals("HASH")) {
+			return HashDictionary.make(filename);
+		}
+		if (backend.equals("MAPPED")) {
+			return MappedDictionary.open(filename);
+		}
+		if (backend.equals("FREQ")) {
+			return FrequencyDictionary.load(filename);
+		}
+		throw new IllegalArgumentException("backend desconocido: " + backend);
+	}
+
+	/**
+	 * Separa las opciones de la forma --clave=valor de los argumentos posicionales.
+	 *
+	 * @param args argumentos de la linea de comando
+	 * @param positional lista donde se agregan los argumentos posicionales
+	 * @return opciones encontradas (una opción sin valor queda asociada a "")
+	 */
+	private static Map<String, String> parseOptions(String[] args, List<String> positional) {
+		Map<String, String> options = new HashMap<String, String>();
+		for (String arg : args) {
+			if (arg.startsWith("--")) {
+				int eq = arg.indexOf('=');
+				if (eq < 0) {
+					options.put(arg.substring(2), "");
+				} else {
+					options.put(arg.substring(2, eq), arg.substring(eq + 1));
+				}
+			} else {
+				positional.add(arg);
+			}
+		}
+		return options;
+	}
+
+	/**
+	 * Chequea un documento sin interacción, en paralelo, y escribe una línea
+	 * <code>posición&lt;TAB&gt;línea&lt;TAB&gt;columna&lt;TAB&gt;palabra&lt;TAB&gt;correcciones separadas por coma</code>
+	 * por cada palabra mal escrita, en el orden del documento.
+	 *
+	 * @param jobs cantidad de hilos
+	 * @throws IOException
+	 */
+	private static void checkInBatch(SpellChecker sp, String in, String out, Charset charset, int jobs)
+			throws IOException {
+		CharBuffer text = charset.decode(ByteBuffer.wrap(Files.readAllBytes(Paths.get(in))));
+		ForkJoinPool pool = new ForkJoinPool(jobs);
+		List<Misspelling> misspellings;
+		try {
+			misspellings = sp.findMisspellings(text.array(), text.arrayOffset(), text.arrayOffset() + text.limit(), pool);
+		} finally {
+			pool.shutdown();
+		}
+		Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(out), charset));
+		try {
+			for (Misspelling m : misspellings) {
+				writeMisspelling(w, m, m.getOffset() - text.arrayOffset());
+			}
+		} finally {
+			w.close();
+		}
+	}
+
+	/**
+	 * Escribe la línea de una palabra mal escrita:
+	 * <code>posición&lt;TAB&gt;línea&lt;TAB&gt;columna&lt;TAB&gt;palabra&lt;TAB&gt;correcciones separadas por coma</code>.
+	 */
+	private static void writeMisspelling(Writer w, Misspelling m, long offset) throws IOException {
+		w.write(offset + "\t" + m.getLine() + "\t" + m.getColumn() + "\t" + m.getWord() + "\t");
+		for (int i = 0; i < m.getCorrections().size(); i++) {
+			if (i > 0) {
+				w.write(',');
+			}
+			w.write(m.getCorrections().get(i));
+		}
+		w.write('\n');
+	}
+
+	/**
+	 * Escribe en out un reporte JSON Lines de las palabras mal escritas del
+	 * documento, en UTF-8.
+	 *
+	 * @param dedup para corregir una vez cada palabra distinta, o null
+	 * @throws IOException
+	 */
+	private static void reportInJson(SpellChecker sp, String in, String out, Charset charset,
+			DeduplicatingChecker dedup) throws IOException {
+		MappedTokenScanner doc = new MappedTokenScanner(new File(in), charset);
+		try {
+			Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8));
+			try {
+				if (dedup == null) {
+					sp.reportDocument(doc, w);
+				} else {
+					dedup.reportDocument(doc, w);
+				}
+			} finally {
+				w.close();
+			}
+		} finally {
+			doc.close();
+		}
+	}
+
+	/**
+	 * Corrige un documento sin interacción según la política, y escribe en la
+	 * salida estándar las palabras mal escritas que quedaron sin reemplazar.
+	 *
+	 * @param pipeline executor donde se corrige en etapas, o null para corregir secuencialmente
+	 * @param dedup para corregir una vez cada palabra distinta, o null
+	 * @throws IOException
+	 */
+	private static void correctInBatch(SpellChecker sp, String in, String out, Charset charset,
+			CorrectionPolicy policy, ExecutorService pipeline, DeduplicatingChecker dedup) throws IOException {
+		MappedTokenScanner doc = new MappedTokenScanner(new File(in), charset);
+		List<Misspelling> misspellings;
+		try {
+			Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(out), charset));
+			try {
+				if (dedup != null) {
+					misspellings = dedup.correctDocument(doc, w, policy);
+				} else if (pipeline != null) {
+					misspellings = sp.correctDocument(doc, w, policy, pipeline);
+				} else {
+					misspellings = sp.correctDocument(doc, w, policy);
+				}
+			} finally {
+				w.close();
+			}
+		} finally {
+			doc.close();
+		}
+		Writer report = new BufferedWriter(new OutputStreamWriter(System.out, charset));
+		for (Misspelling m : misspellings) {
+			if (policy.choose(m.getCorrections()) == null) {
+				writeMisspelling(report, m, m.getOffset());
+			}
+		}
+		report.flush();
+	}
+
 	public static void main(String[] args) {
-		if (args.length != 4) {
-			System.out.println("uso: java SpellCheckRunner <in> <out> <dictionary> <corrector>");
-			System.out.println("<corrector> es SWAP, LEV, or el path para instanciar el FileCorrector.");
+		List<String> positional = new ArrayList<String>();
+		Map<String, String> options = parseOptions(args, positional);
+		if (options.containsKey("compile") && positional.size() == 2) {
+			try {
+				MappedDictionary.compile(positional.get(0), positional.get(1));
+			} catch (IOException e) {
+				System.out.println("error compilando el diccionario: " + e.getMessage());
+			}
+			return;
+		}
+		if (positional.size() != 4) {
+			System.out.println("uso: java SpellCheckRunner [--backend=TREE|TRIE|DAWG|HASH|MAPPED|FREQ] <in> <out> <dictionary> <corrector>");
+			System.out.println("     java SpellCheckRunner --compile <dictionary> <compiled>");
+			System.out.println("<corrector> es SWAP, LEV, DAMLEV, SYMSPELL, BKTREE, or el path para instanciar el FileCorrector.");
 			return;
 		}
+		String backend = options.containsKey("backend") ? options.get("backend") : "TREE";
+		ExecutorService executor = null;
+		ExecutorService pipeline = null;
+		ExecutorService distinct = null;
+		ExecutorService directory = null;
 		try {
-			Reader in = new BufferedReader(new FileReader(args[0]));
-			Writer out = new BufferedWriter(new FileWriter(args[1]));
-			Dictionary dict = Dictionary.make(args[2]);
-			SpellChecker sp = new SpellChecker(makeCorrector(args[3], dict), dict);
-			sp.checkDocument(in, System.in, out);
+			int distance = options.containsKey("distance") ? Integer.parseInt(options.get("distance")) : 1;
+			Lexicon dict = makeDictionary(backend, positional.get(2));
+			if (options.containsKey("bloom")) {
+				String fpp = options.get("bloom");
+				dict = new BloomFilterLexicon(dict, fpp.isEmpty() ? 0.01 : Double.parseDouble(fpp));
+			}
+			String[] types = positional.get(3).split(",");
+			Corrector corrector;
+			if (types.length == 1) {
+				corrector = makeCorrector(types[0], dict, distance, options.get("index"));
+			} else {
+				List<Corrector> stages = new ArrayList<Corrector>();
+				for (String type : types) {
+					stages.add(makeCorrector(type, dict, distance, options.get("index")));
+				}
+				if (options.containsKey("parallel")) {
+					executor = Executors.newFixedThreadPool(stages.size());
+					corrector = new ChainedCorrector(stages, executor);
+				} else {
+					int minSuggestions = options.containsKey("min-suggestions")
+							? Integer.parseInt(options.get("min-suggestions")) : 1;
+					corrector = new ChainedCorrector(stages, minSuggestions);
+				}
+			}
+			if (options.containsKey("cache")) {
+				corrector = new CachingCorrector(corrector, Integer.parseInt(options.get("cache")));
+			}
+			int suggestions = options.containsKey("suggestions") ? Integer.parseInt(options.get("suggestions")) : 0;
+			SpellChecker sp = new SpellChecker(corrector, dict, suggestions);
+			Charset charset = options.containsKey("charset") ? Charset.forName(options.get("charset")) : StandardCharsets.UTF_8;
+			boolean directoryInput = new File(positional.get(0)).isDirectory() || DirectoryChecker.isGlob(positional.get(0));
+			if (options.containsKey("json")) {
+				for (String option : new String[] { "policy", "jobs", "pipeline" }) {
+					if (options.containsKey(option)) {
+						throw new IllegalArgumentException("--json y --" + option + " no se pueden combinar");
+					}
+				}
+				if (directoryInput) {
+					throw new IllegalArgumentException("--json no se usa con un directorio");
+				}
+			}
+			if (options.containsKey("threads") && (!options.containsKey("policy") || !directoryInput)) {
+				throw new IllegalArgumentException("--threads solo se usa con --policy y un directorio");
+			}
+			if (options.containsKey("pipeline")) {
+				if (!options.containsKey("policy")) {
+					throw new IllegalArgumentException("--pipeline necesita --policy");
+				}
+				if (directoryInput) {
+					throw new IllegalArgumentException("--pipeline no se usa con un directorio");
+				}
+			}
+			if (options.containsKey("session") && (options.containsKey("policy") || options.containsKey("json")
+					|| options.containsKey("jobs") || directoryInput)) {
+				throw new IllegalArgumentException("--session solo se usa en el modo interactivo");
+			}
+			DeduplicatingChecker dedup = null;
+			if (options.containsKey("dedup")) {
+				if (!options.containsKey("policy") && !options.containsKey("json")) {
+					throw new IllegalArgumentException("--dedup necesita --policy o --json");
+				}
+				for (String option : new String[] { "jobs", "pipeline" }) {
+					if (options.containsKey(option)) {
+						throw new IllegalArgumentException("--dedup y --" + option + " no se pueden combinar");
+					}
+				}
+				if (directoryInput) {
+					throw new IllegalArgumentException("--dedup no se usa con un directorio");
+				}
+				String window = options.get("dedup");
+				distinct = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+				dedup = new DeduplicatingChecker(sp, window.isEmpty() ? 65536 : Integer.parseInt(window), distinct);
+			}
+			if (options.containsKey("json")) {
+				reportInJson(sp, positional.get(0), positional.get(1), charset, dedup);
+				return;
+			}
+			if (options.containsKey("policy")) {
+				if (options.containsKey("jobs")) {
+					throw new IllegalArgumentException("--policy y --jobs no se pueden combinar");
+				}
+				if (directoryInput) {
+					int threads = options.containsKey("threads") ? Integer.parseInt(options.get("threads"))
+							: Runtime.getRuntime().availableProcessors();
+					directory = DirectoryChecker.newExecutor(threads);
+					int files = new DirectoryChecker(sp, CorrectionPolicy.valueOf(options.get("policy")), charset,
+							directory, threads).checkAll(positional.get(0), Paths.get(positional.get(1)));
+					System.out.println(files + " archivos corregidos");
+					return;
+				}
+				if (options.containsKey("pipeline")) {
+					String threads = options.get("pipeline");
+					pipeline = Executors.newFixedThreadPool(threads.isEmpty()
+							? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads));
+				}
+				correctInBatch(sp, positional.get(0), positional.get(1), charset,
+						CorrectionPolicy.valueOf(options.get("policy")), pipeline, dedup);
+				return;
+			}
+			if (options.containsKey("jobs")) {
+				checkInBatch(sp, positional.get(0), positional.get(1), charset, Integer.parseInt(options.get("jobs")));
+				return;
+			}
+			MappedTokenScanner in = new MappedTokenScanner(new File(positional.get(0)), charset);
+			Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(positional.get(1)), charset));
+			if (options.containsKey("session")) {
+				String file = options.get("session");
+				CorrectionSession session = file.isEmpty() ? new CorrectionSession() : CorrectionSession.load(file);
+				sp.checkDocument(in, System.in, out, session);
+				if (!file.isEmpty()) {
+					session.save(file);
+				}
+			} else {
+				sp.checkDocument(in, System.in, out);
+			}
 			in.close();
 			out.flush();
 			out.close();
@@ -70,6 +460,21 @@ public class SpellCheckerRunner {
 			System.out.println("error procesando el document: " + e.getMessage());
 		} catch (FileCorrector.FormatException e) {
 			System.out.println("error de formato: " + e.getMessage());
+		} catch (IllegalArgumentException e) {
+			System.out.println("argumento invalido: " + e.getMessage());
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+			if (pipeline != null) {
+				pipeline.shutdown();
+			}
+			if (distinct != null) {
+				distinct.shutdown();
+			}
+			if (directory != null) {
+				directory.shutdown();
+			}
 		}
 	}
 }
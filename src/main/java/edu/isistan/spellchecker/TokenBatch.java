@@ -0,0 +1,125 @@
+package edu.isistan.spellchecker;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Tokens consecutivos de un documento: su texto, copiado en un arreglo, y la
+ * posición de cada uno. Después de {@link #lookup(SpellChecker)} conoce
+ * cuáles son palabras que no están en el diccionario, y puede escribirse
+ * reemplazando algunas de ellas.
+ */
+class TokenBatch {
+    private char[] chars = new char[256];
+    private int length;
+    private final int[] ends; // Fin de cada token en chars
+    private final boolean[] words;
+    private final long[] offsets;
+    private final int[] lines;
+    private final int[] columns;
+    private int size;
+    private int[] unknown; // Índices de los tokens que no están en el diccionario
+    private int numUnknown;
+
+    /**
+     * @param capacity cantidad máxima de tokens
+     */
+    TokenBatch(int capacity) {
+        ends = new int[capacity];
+        words = new boolean[capacity];
+        offsets = new long[capacity];
+        lines = new int[capacity];
+        columns = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == ends.length;
+    }
+
+    private int start(int token) {
+        return token == 0 ? 0 : ends[token - 1];
+    }
+
+    /**
+     * Agrega el token actual de doc.
+     */
+    void add(TokenScanner doc) {
+        int tokenLength = doc.getTokenEnd() - doc.getTokenStart();
+        if (length + tokenLength > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + tokenLength));
+        }
+        System.arraycopy(doc.getTokenBuffer(), doc.getTokenStart(), chars, length, tokenLength);
+        length += tokenLength;
+        ends[size] = length;
+        words[size] = doc.isWordToken();
+        offsets[size] = doc.getTokenOffset();
+        lines[size] = doc.getTokenLine();
+        columns[size] = doc.getTokenColumn();
+        size++;
+    }
+
+    /**
+     * Busca las palabras en el diccionario del checker.
+     */
+    void lookup(SpellChecker checker) {
+        unknown = new int[size];
+        numUnknown = 0;
+        CharBuffer text = CharBuffer.wrap(chars);
+        for (int i = 0; i < size; i++) {
+            if (words[i] && !checker.isKnown(text, start(i), ends[i])) {
+                unknown[numUnknown++] = i;
+            }
+        }
+    }
+
+    /**
+     * @return cantidad de palabras que no están en el diccionario
+     */
+    int numUnknown() {
+        return numUnknown;
+    }
+
+    /**
+     * @return la i-ésima palabra que no está en el diccionario
+     */
+    String unknownWord(int i) {
+        int token = unknown[i];
+        return new String(chars, start(token), ends[token] - start(token));
+    }
+
+    /**
+     * @return la i-ésima palabra que no está en el diccionario, con su posición
+     */
+    Misspelling misspelling(int i, String word, List<String> corrections) {
+        int token = unknown[i];
+        return new Misspelling(word, offsets[token], lines[token], columns[token], corrections);
+    }
+
+    /**
+     * Escribe los tokens, de una vez los tramos entre palabras reemplazadas.
+     *
+     * @param replacements por cada palabra que no está en el diccionario, la
+     * que la reemplaza o null si se deja
+     */
+    void write(Writer out, String[] replacements) throws IOException {
+        int from = 0;
+        for (int i = 0; i < numUnknown; i++) {
+            if (replacements[i] != null) {
+                int token = unknown[i];
+                out.write(chars, from, start(token) - from);
+                out.write(replacements[i]);
+                from = ends[token];
+            }
+        }
+        out.write(chars, from, length - from);
+    }
+}
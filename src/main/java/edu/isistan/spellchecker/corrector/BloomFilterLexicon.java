@@ -0,0 +1,175 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.Iterator;
+
+/**
+ * Decorador que antepone un filtro de Bloom a las consultas isWord de otro
+ * diccionario.
+ * <p>
+ * La mayoría de los candidatos que generan los correctores no son palabras.
+ * El filtro los descarta con un hash y a lo sumo un acceso a memoria, y solo
+ * los que podrían ser palabras llegan al diccionario decorado, así que el
+ * resultado es siempre el mismo que el de él: un falso positivo del filtro
+ * cuesta una consulta exacta, nunca una respuesta incorrecta.
+ * <p>
+ * Es un filtro de Bloom por bloques: el hash elige un bloque de 512 bits (una
+ * línea de cache) y dentro de él los k bits de la palabra. A igual memoria
+ * tiene una tasa de falsos positivos un poco mayor que un filtro clásico, a
+ * cambio de un único fallo de cache por consulta. El filtro se construye una
+ * vez a partir de las palabras del diccionario, que no debe modificarse
+ * después.
+ */
+public class BloomFilterLexicon implements Lexicon {
+
+	private static final int BLOCK_BITS = 512;
+	private static final int BLOCK_LONGS = BLOCK_BITS / 64;
+	private static final double LN2 = Math.log(2);
+
+	private final Lexicon dict;
+	private final long[] bits;
+	private final int numBlocks;
+	private final int numHashes;
+
+	/**
+	 * Construye el filtro dimensionado para una tasa de falsos positivos.
+	 *
+	 * @param dict diccionario a decorar
+	 * @param falsePositiveRate tasa de falsos positivos buscada, entre 0 y 1 (exclusive)
+	 * @throws IllegalArgumentException si el diccionario es null o la tasa está fuera de rango
+	 */
+	public BloomFilterLexicon(Lexicon dict, double falsePositiveRate) {
+		this(dict, bitsPerWord(falsePositiveRate));
+	}
+
+	/**
+	 * Construye el filtro con una cantidad fija de memoria por palabra.
+	 *
+	 * @param dict diccionario a decorar
+	 * @param bitsPerWord bits del filtro por palabra del diccionario, al menos 1
+	 * @throws IllegalArgumentException si el diccionario es null o bitsPerWord es menor a 1
+	 */
+	public BloomFilterLexicon(Lexicon dict, int bitsPerWord) {
+		if (dict == null) {
+			throw new IllegalArgumentException();
+		}
+		if (bitsPerWord < 1) {
+			throw new IllegalArgumentException("bitsPerWord debe ser al menos 1");
+		}
+		this.dict = dict;
+		long totalBits = (long) Math.max(dict.getNumWords(), 1) * bitsPerWord;
+		this.numBlocks = (int) Math.min((totalBits + BLOCK_BITS - 1) / BLOCK_BITS, Integer.MAX_VALUE / BLOCK_LONGS);
+		this.bits = new long[numBlocks * BLOCK_LONGS];
+		// k óptimo = bits por palabra * ln 2
+		this.numHashes = (int) Math.max(1, Math.min(16, Math.round(bitsPerWord * LN2)));
+		for (String word : dict) {
+			add(word);
+		}
+	}
+
+	private static int bitsPerWord(double falsePositiveRate) {
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException("la tasa de falsos positivos debe estar entre 0 y 1");
+		}
+		// m / n = -ln(p) / (ln 2)^2
+		return (int) Math.ceil(-Math.log(falsePositiveRate) / (LN2 * LN2));
+	}
+
+	/**
+	 * @return memoria ocupada por el filtro, en bytes
+	 */
+	public long getSizeInBytes() {
+		return 8L * bits.length;
+	}
+
+	/**
+	 * @return cantidad de bits que se marcan por palabra
+	 */
+	public int getNumHashes() {
+		return numHashes;
+	}
+
+	/**
+	 * @return el diccionario decorado
+	 */
+	public Lexicon getLexicon() {
+		return dict;
+	}
+
+	private void add(String word) {
+		long h = hash(word, 0, word.length());
+		int base = block(h);
+		int g = (int) h;
+		int d = (int) (h >>> 32) | 1;
+		for (int i = 0; i < numHashes; i++) {
+			int bit = (g + i * d) & (BLOCK_BITS - 1);
+			bits[base + (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * @return false si la palabra seguro no está en el diccionario
+	 */
+	boolean mightContain(CharSequence chars, int start, int end) {
+		long h = hash(chars, start, end);
+		int base = block(h);
+		int g = (int) h;
+		int d = (int) (h >>> 32) | 1;
+		for (int i = 0; i < numHashes; i++) {
+			int bit = (g + i * d) & (BLOCK_BITS - 1);
+			if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Primer long del bloque; usa bits del hash distintos de los que eligen los bits
+	private int block(long h) {
+		long mixed = h * 0x9E3779B97F4A7C15L;
+		return (int) (((mixed >>> 32) * numBlocks) >>> 32) * BLOCK_LONGS;
+	}
+
+	/**
+	 * Hash de 64 bits de [start, end) plegado a minúsculas.
+	 */
+	private static long hash(CharSequence s, int start, int end) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = start; i < end; i++) {
+			h = (h ^ CaseFolding.fold(s.charAt(i))) * 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	public boolean isWord(String word) {
+		if (word == null) {
+			return false;
+		}
+		return isWord(word, 0, word.length());
+	}
+
+	public boolean isWord(CharSequence chars, int start, int end) {
+		if (chars == null || start >= end) {
+			return false;
+		}
+		return mightContain(chars, start, end) && dict.isWord(chars, start, end);
+	}
+
+	public int getFrequency(CharSequence chars, int start, int end) {
+		return dict.getFrequency(chars, start, end);
+	}
+
+	public int getNumWords() {
+		return dict.getNumWords();
+	}
+
+	public boolean isPrefix(String prefix) {
+		return dict.isPrefix(prefix);
+	}
+
+	public Iterator<String> iterator() {
+		return dict.iterator();
+	}
+}
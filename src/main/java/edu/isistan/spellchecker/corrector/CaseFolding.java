@@ -0,0 +1,80 @@
+package edu.isistan.spellchecker.corrector;
+
+/**
+ * Funciones auxiliares para comparar y hashear palabras sin distinguir
+ * mayúsculas, caracter por caracter y sin crear Strings intermedios.
+ * <p>
+ * Los diccionarios guardan las palabras ya plegadas con {@link #fold(char)};
+ * las consultas pliegan cada caracter a medida que lo leen.
+ */
+public final class CaseFolding {
+
+	private CaseFolding() {
+	}
+
+	/**
+	 * @param c caracter
+	 * @return el caracter en minúscula
+	 */
+	public static char fold(char c) {
+		if (c < 0x80) {
+			return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(c);
+	}
+
+	/**
+	 * Pliega cada caracter con {@link #fold(char)}. A diferencia de
+	 * String.toLowerCase() no depende del locale por defecto, así que el
+	 * resultado coincide con las palabras guardadas en los diccionarios.
+	 *
+	 * @param word palabra
+	 * @return la palabra en minúscula
+	 */
+	public static String fold(String word) {
+		char[] folded = new char[word.length()];
+		for (int i = 0; i < folded.length; i++) {
+			folded[i] = fold(word.charAt(i));
+		}
+		return new String(folded);
+	}
+
+	/**
+	 * Hash de la secuencia [start, end) plegada a minúsculas.
+	 * Es igual al hash de la misma palabra ya plegada.
+	 *
+	 * @param s secuencia de caracteres
+	 * @param start inicio (inclusive)
+	 * @param end fin (exclusive)
+	 * @return hash de la secuencia plegada
+	 */
+	public static int hash(CharSequence s, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + fold(s.charAt(i));
+		}
+		return mix(h);
+	}
+
+	/**
+	 * Hash de los primeros length caracteres (ya plegados) de data a partir de offset.
+	 */
+	static int hash(char[] data, int offset, int length) {
+		int h = 0;
+		for (int i = offset; i < offset + length; i++) {
+			h = 31 * h + data[i];
+		}
+		return mix(h);
+	}
+
+	/**
+	 * Dispersa los bits del hash polinomial para que funcione bien con tablas
+	 * de tamaño potencia de dos y sondeo lineal.
+	 */
+	static int mix(int h) {
+		h ^= (h >>> 16);
+		h *= 0x85ebca6b;
+		h ^= (h >>> 13);
+		return h;
+	}
+}
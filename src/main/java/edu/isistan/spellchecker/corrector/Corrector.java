@@ -1,4 +1,5 @@
 package edu.isistan.spellchecker.corrector;
+import java.util.List;
 import java.util.TreeSet;
 import java.util.Set;
 
@@ -11,6 +12,24 @@ import java.util.Set;
  * que en general invocar al mtodo matchCase.
  */
 public abstract class Corrector {
+	private final Lexicon dict; // De donde se toman las frecuencias, o null
+
+	/**
+	 * Construye un corrector que no conoce frecuencias.
+	 */
+	protected Corrector() {
+		this(null);
+	}
+
+	/**
+	 * Construye un corrector sobre un diccionario, del que
+	 * {@link #getFrequency(String)} toma las frecuencias.
+	 *
+	 * @param dict diccionario, o null si no conoce frecuencias
+	 */
+	protected Corrector(Lexicon dict) {
+		this.dict = dict;
+	}
 
 	/**
 	 * Retorna un conjunto con los mismos elementos del set de correcciones
@@ -26,19 +45,63 @@ public abstract class Corrector {
 			throw new IllegalArgumentException("null input given");
 		}
 		Set<String> revisedSet = new TreeSet<String>();
-		boolean capitalizeFirst = Character.isUpperCase(incorrectWord.charAt(0));
 		for (String s : corrections) {
-			if (capitalizeFirst) {
-				String ucfirst =
-						s.substring(0, 1).toUpperCase() + s.substring(1).toLowerCase();
-				revisedSet.add(ucfirst);
-			} else {
-				revisedSet.add(s.toLowerCase());
-			}
+			revisedSet.add(matchCase(incorrectWord, s));
 		}
 		return revisedSet;
 	}
 
+	/**
+	 * Igual que matchCase(String, Set) para una sola correccin.
+	 *
+	 * @param incorrectWord palabra a corregir
+	 * @param correction correcin sugerida
+	 * @return la correcin con la capitalizacin de incorrectWord
+	 */
+	protected String matchCase(String incorrectWord, String correction) {
+		if (Character.isUpperCase(incorrectWord.charAt(0))) {
+			return correction.substring(0, 1).toUpperCase() + correction.substring(1).toLowerCase();
+		}
+		return correction.toLowerCase();
+	}
+
+	/**
+	 * Retorna las k mejores sugerencias para una palabra mal escrita, de la
+	 * mejor a la peor (ver {@link Suggestion}), con la capitalizacin de la
+	 * palabra.
+	 * <p>
+	 * La implementacin por defecto punta cada elemento de getCorrections con
+	 * costo 1 y la frecuencia de {@link #getFrequency(String)}. Los
+	 * correctores que conocen el costo de cada candidata la sobreescriben y
+	 * usan un {@link SuggestionHeap} para no guardar ni ordenar todas.
+	 *
+	 * @param wrong palabra mal escrita
+	 * @param k cantidad mxima de sugerencias
+	 * @return lista (potencialmente vaca) de a lo sumo k sugerencias
+	 * @throws IllegalArgumentException si la entrada no es una palabra vlida o k es menor a 1
+	 */
+	public List<Suggestion> getSuggestions(String wrong, int k) {
+		SuggestionHeap heap = new SuggestionHeap(k);
+		String source = getClass().getSimpleName();
+		for (String correction : getCorrections(wrong)) {
+			heap.offer(new Suggestion(correction, 1, getFrequency(correction), source));
+		}
+		return heap.toList();
+	}
+
+	/**
+	 * Retorna la frecuencia de una palabra sugerida, usada para ordenar las
+	 * sugerencias de igual costo. Se toma del diccionario con que se construy
+	 * el corrector (ver {@link Lexicon#getFrequency(CharSequence, int, int)}),
+	 * o es 0 si no hay diccionario.
+	 *
+	 * @param word palabra sugerida
+	 * @return la frecuencia, o 0 si no se conoce
+	 */
+	protected int getFrequency(String word) {
+		return dict == null ? 0 : dict.getFrequency(word, 0, word.length());
+	}
+
 	/**
 	 * Retoran una lista de sugerencias para una palabra mal escrita.
 	 * <p>
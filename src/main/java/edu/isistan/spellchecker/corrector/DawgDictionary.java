@@ -0,0 +1,143 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.io.*;
+import java.util.BitSet;
+
+/**
+ * Diccionario de solo lectura representado como un autómata acíclico mínimo
+ * (DAWG). El diccionario es case insensitive.
+ * <p>
+ * A diferencia del Trie, que solo comparte prefijos, el DAWG también comparte
+ * sufijos: todas las palabras terminadas en "ing", "ed", "ción" o "mente"
+ * llegan al mismo sub-autómata. Se obtiene con {@link TrieDictionary#minimize()}
+ * y no puede modificarse.
+ * <p>
+ * Las aristas de cada estado ocupan un tramo contiguo de los arreglos, ordenado
+ * por letra, por lo que cada paso de una búsqueda es una bisección.
+ */
+public class DawgDictionary implements TrieLexicon {
+
+	private final int root;
+	private final int[] edgeStart; // Primer arista de cada estado; edgeStart[numStates] es el total
+	private final char[] edgeLabels;
+	private final int[] edgeTargets;
+	private final BitSet finals;
+	private final BitSet lastEdges; // Marca la última arista de cada estado
+	private final int numWords;
+
+	DawgDictionary(int root, int[] edgeStart, char[] edgeLabels, int[] edgeTargets, BitSet finals, int numWords) {
+		this.root = root;
+		this.edgeStart = edgeStart;
+		this.edgeLabels = edgeLabels;
+		this.edgeTargets = edgeTargets;
+		this.finals = finals;
+		this.numWords = numWords;
+		this.lastEdges = new BitSet(edgeLabels.length);
+		for (int state = 0; state < edgeStart.length - 1; state++) {
+			if (edgeStart[state + 1] > edgeStart[state]) {
+				lastEdges.set(edgeStart[state + 1] - 1);
+			}
+		}
+	}
+
+	/**
+	 * Construye un DAWG a partir de un archivo, pasando por un TrieDictionary.
+	 *
+	 * @param filename
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo
+	 */
+	public static DawgDictionary make(String filename) throws IOException {
+		return TrieDictionary.make(filename).minimize();
+	}
+
+	public int getNumWords() {
+		return numWords;
+	}
+
+	/**
+	 * @return número de estados del autómata
+	 */
+	public int getNumStates() {
+		return edgeStart.length - 1;
+	}
+
+	/**
+	 * @return número de aristas del autómata
+	 */
+	public int getNumEdges() {
+		return edgeLabels.length;
+	}
+
+	public boolean isWord(String word) {
+		if (word != null) {
+			return isWord(word, 0, word.length());
+		}
+		return false;
+	}
+
+	public boolean isWord(CharSequence chars, int start, int end) {
+		if (chars == null || start >= end) {
+			return false;
+		}
+		int state = walk(chars, start, end);
+		return state != NONE && finals.get(state);
+	}
+
+	public boolean isPrefix(String prefix) {
+		if (prefix != null) {
+			return numWords > 0 && walk(prefix, 0, prefix.length()) != NONE;
+		}
+		return false;
+	}
+
+	private int walk(CharSequence chars, int start, int end) {
+		int state = root;
+		for (int i = start; i < end && state != NONE; i++) {
+			state = step(state, CaseFolding.fold(chars.charAt(i)));
+		}
+		return state;
+	}
+
+	private int step(int state, char c) {
+		int low = edgeStart[state];
+		int high = edgeStart[state + 1] - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			char label = edgeLabels[middle];
+			if (label < c) {
+				low = middle + 1;
+			} else if (label > c) {
+				high = middle - 1;
+			} else {
+				return edgeTargets[middle];
+			}
+		}
+		return NONE;
+	}
+
+	public int root() {
+		return root;
+	}
+
+	public boolean isFinal(int state) {
+		return finals.get(state);
+	}
+
+	public int firstEdge(int state) {
+		int edge = edgeStart[state];
+		return edge < edgeStart[state + 1] ? edge : NONE;
+	}
+
+	public int nextEdge(int edge) {
+		return lastEdges.get(edge) ? NONE : edge + 1;
+	}
+
+	public char edgeLabel(int edge) {
+		return edgeLabels[edge];
+	}
+
+	public int edgeTarget(int edge) {
+		return edgeTargets[edge];
+	}
+}
@@ -1,9 +1,13 @@
 package edu.isistan.spellchecker.corrector;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.TreeSet;
 
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 /**
@@ -13,7 +17,7 @@ import edu.isistan.spellchecker.tokenizer.TokenScanner;
  * Una palabra "vlida" es una secuencia de letras (determinado por Character.isLetter) 
  * o apostrofes.
  */
-public class Dictionary {
+public class Dictionary implements Lexicon {
 
 		private TreeSet<String> dictionary; // No agrega repetidos el TreeSet, es una buena opcin.
 	/**
@@ -42,7 +46,7 @@ public class Dictionary {
 	}
 
 	/**
-	 * Construye un diccionario usando un archivo.
+	 * Construye un diccionario usando un archivo en UTF-8.
 	 *
 	 *
 	 * @param filename 
@@ -50,10 +54,12 @@ public class Dictionary {
 	 * @throws IOException Error leyendo el archivo
 	 */
 	public static Dictionary make(String filename) throws IOException {
-		Reader r = new FileReader(filename);
-		Dictionary d = new Dictionary(new TokenScanner(r));
-		r.close();
-		return d;
+		MappedTokenScanner ts = new MappedTokenScanner(new File(filename), StandardCharsets.UTF_8);
+		try {
+			return new Dictionary(ts);
+		} finally {
+			ts.close();
+		}
 	}
 
 	/**
@@ -86,4 +92,27 @@ public class Dictionary {
 		}
 		return false;
 	}
+
+	/**
+	 * Recorre las palabras en orden alfabtico.
+	 */
+	public Iterator<String> iterator() {
+		return Collections.unmodifiableSet(dictionary).iterator();
+	}
+
+	/**
+	 * Testea si alguna palabra del diccionario comienza con el prefijo dado.
+	 * Usa la primer palabra mayor o igual al prefijo en el orden del TreeSet.
+	 *
+	 * @param prefix prefijo a verificar.
+	 * @return si existe al menos una palabra con ese prefijo.
+	 */
+	public boolean isPrefix(String prefix) {
+		if(prefix != null){
+			String lower = prefix.toLowerCase();
+			String ceiling = dictionary.ceiling(lower);
+			return ceiling != null && ceiling.startsWith(lower);
+		}
+		return false;
+	}
 }
\ No newline at end of file
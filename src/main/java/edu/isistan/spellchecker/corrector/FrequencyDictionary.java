@@ -0,0 +1,190 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Diccionario que además de las palabras conoce cuántas veces aparece cada
+ * una, para ordenar las sugerencias por probabilidad.
+ * El diccionario es case insensitive.
+ * <p>
+ * Las palabras se guardan en un {@link HashDictionary}, que les asigna un id
+ * consecutivo, y las frecuencias en un arreglo de int indexado por ese id.
+ * <p>
+ * Las frecuencias pueden cargarse de un archivo con líneas
+ * <code>palabra&lt;TAB&gt;cantidad</code> (ver {@link #load(String)}) o contarse
+ * sobre un corpus (ver {@link #FrequencyDictionary(TokenScanner)} y
+ * {@link #count(Lexicon, TokenScanner)}).
+ */
+public class FrequencyDictionary implements Lexicon {
+
+	private final HashDictionary words = new HashDictionary();
+	private int[] counts = new int[1024]; // Frecuencia de cada palabra, por id
+	private long total;
+	private int maxFrequency;
+
+	private FrequencyDictionary() {
+	}
+
+	/**
+	 * Construye un diccionario con todas las palabras válidas de un corpus,
+	 * contando cuántas veces aparece cada una.
+	 *
+	 * @param ts corpus
+	 * @throws IOException Error leyendo el corpus
+	 * @throws IllegalArgumentException el TokenScanner es null
+	 */
+	public FrequencyDictionary(TokenScanner ts) throws IOException {
+		if (ts == null) {
+			throw new IllegalArgumentException();
+		}
+		while (ts.hasNext()) {
+			String nextString = ts.next();
+			if (TokenScanner.isWord(nextString)) {
+				increment(words.add(nextString), 1);
+			}
+		}
+	}
+
+	/**
+	 * Construye un diccionario con las palabras de dict y las frecuencias con
+	 * que aparecen en un corpus. Las palabras del corpus que no están en dict
+	 * se ignoran; las de dict que no aparecen tienen frecuencia 0.
+	 *
+	 * @param dict palabras del diccionario
+	 * @param corpus texto sobre el que se cuenta
+	 * @throws IOException Error leyendo el corpus
+	 * @throws IllegalArgumentException si alguno es null
+	 */
+	public static FrequencyDictionary count(Lexicon dict, TokenScanner corpus) throws IOException {
+		if (dict == null || corpus == null) {
+			throw new IllegalArgumentException();
+		}
+		FrequencyDictionary d = new FrequencyDictionary();
+		for (String word : dict) {
+			d.increment(d.words.add(word), 0);
+		}
+		while (corpus.hasNext()) {
+			String nextString = corpus.next();
+			int id = d.words.indexOf(nextString, 0, nextString.length());
+			if (id >= 0) {
+				d.increment(id, 1);
+			}
+		}
+		return d;
+	}
+
+	/**
+	 * Carga un archivo de frecuencias en UTF-8. Cada línea tiene una palabra y,
+	 * separada por un tabulador, su cantidad de apariciones; una línea con solo
+	 * la palabra cuenta como una aparición, por lo que también se puede cargar
+	 * una lista de palabras. Las líneas en blanco y las palabras no válidas se
+	 * ignoran, y las repetidas (sin distinguir mayúsculas) se suman.
+	 *
+	 * @param filename archivo de frecuencias
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo o si una cantidad no es un entero no negativo
+	 */
+	public static FrequencyDictionary load(String filename) throws IOException {
+		FrequencyDictionary d = new FrequencyDictionary();
+		BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8));
+		try {
+			String line;
+			int lineNumber = 0;
+			while ((line = r.readLine()) != null) {
+				lineNumber++;
+				int tab = line.indexOf('\t');
+				String word = (tab < 0 ? line : line.substring(0, tab)).trim();
+				if (!TokenScanner.isWord(word)) {
+					continue;
+				}
+				int count = 1;
+				if (tab >= 0) {
+					try {
+						count = Integer.parseInt(line.substring(tab + 1).trim());
+					} catch (NumberFormatException e) {
+						count = -1;
+					}
+					if (count < 0) {
+						throw new IOException("cantidad inválida en la línea " + lineNumber + ": " + line);
+					}
+				}
+				d.increment(d.words.add(word), count);
+			}
+		} finally {
+			r.close();
+		}
+		return d;
+	}
+
+	private void increment(int id, int count) {
+		if (id >= counts.length) {
+			counts = Arrays.copyOf(counts, Math.max(counts.length * 2, id + 1));
+		}
+		// Las frecuencias saturan en Integer.MAX_VALUE
+		counts[id] = (int) Math.min((long) counts[id] + count, Integer.MAX_VALUE);
+		total += count;
+		maxFrequency = Math.max(maxFrequency, counts[id]);
+	}
+
+	/**
+	 * Retorna la frecuencia del tramo [start, end) sin crear objetos.
+	 *
+	 * @return la frecuencia, o 0 si no es una palabra del diccionario
+	 */
+	public int getFrequency(CharSequence chars, int start, int end) {
+		int id = words.indexOf(chars, start, end);
+		return id < 0 ? 0 : counts[id];
+	}
+
+	/**
+	 * @return la frecuencia de la palabra, o 0 si no es una palabra del diccionario
+	 */
+	public int getFrequency(String word) {
+		if (word == null) {
+			return 0;
+		}
+		return getFrequency(word, 0, word.length());
+	}
+
+	/**
+	 * @return la suma de las frecuencias de todas las palabras
+	 */
+	public long getTotalCount() {
+		return total;
+	}
+
+	/**
+	 * @return la mayor frecuencia de una palabra
+	 */
+	public int getMaxFrequency() {
+		return maxFrequency;
+	}
+
+	public int getNumWords() {
+		return words.getNumWords();
+	}
+
+	public boolean isWord(String word) {
+		return words.isWord(word);
+	}
+
+	public boolean isWord(CharSequence chars, int start, int end) {
+		return words.isWord(chars, start, end);
+	}
+
+	public boolean isPrefix(String prefix) {
+		return words.isPrefix(prefix);
+	}
+
+	/**
+	 * Recorre las palabras en el orden en que fueron agregadas.
+	 */
+	public Iterator<String> iterator() {
+		return words.iterator();
+	}
+}
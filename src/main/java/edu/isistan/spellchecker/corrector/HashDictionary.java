@@ -0,0 +1,253 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Diccionario basado en tablas hash de direccionamiento abierto.
+ * El diccionario es case insensitive.
+ * <p>
+ * Las palabras se guardan una sola vez, ya en minúscula, en un único arreglo
+ * de caracteres. Dos tablas con sondeo lineal referencian ese arreglo: una por
+ * palabra completa y otra por cada prefijo distinto. Cada entrada es un long
+ * con el id de la palabra y la longitud del tramo referenciado, así que
+ * consultar no crea ningún objeto: el hash y la comparación pliegan las
+ * mayúsculas caracter por caracter.
+ */
+public class HashDictionary implements Lexicon {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private char[] data = new char[INITIAL_CAPACITY * 8]; // Palabras en minúscula, una detrás de otra
+	private int[] offsets = new int[INITIAL_CAPACITY + 1]; // Inicio de cada palabra en data; offsets[numWords] es el fin
+	private int numWords;
+
+	private long[] words = new long[INITIAL_CAPACITY * 2]; // Tabla de palabras completas
+	private int usedWords;
+
+	private long[] prefixes = new long[INITIAL_CAPACITY * 8]; // Tabla de prefijos no vacíos
+	private int usedPrefixes;
+
+	/**
+	 * Construye un diccionario usando un TokenScanner.
+	 * <p>
+	 * Una palabra válida es una secuencia de letras (ver Character.isLetter) o apostrofes.
+	 * Toda palabra no válida se debe ignorar
+	 *
+	 * @param ts
+	 * @throws IOException Error leyendo el archivo
+	 * @throws IllegalArgumentException el TokenScanner es null
+	 */
+	public HashDictionary(TokenScanner ts) throws IOException {
+		if(ts == null){
+			throw new IllegalArgumentException();
+		}
+		while (ts.hasNext()){
+			String nextString = ts.next();
+			if(TokenScanner.isWord(nextString)){
+				this.add(nextString);
+			}
+		}
+	}
+
+	/**
+	 * Construye un diccionario vacío; las palabras se agregan con add.
+	 */
+	HashDictionary() {
+	}
+
+	/**
+	 * Construye un diccionario usando un archivo en UTF-8.
+	 *
+	 * @param filename
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo
+	 */
+	public static HashDictionary make(String filename) throws IOException {
+		MappedTokenScanner ts = new MappedTokenScanner(new File(filename), StandardCharsets.UTF_8);
+		try {
+			return new HashDictionary(ts);
+		} finally {
+			ts.close();
+		}
+	}
+
+	public int getNumWords() {
+		return numWords;
+	}
+
+	public boolean isWord(String word) {
+		if(word != null){
+			return this.isWord(word, 0, word.length());
+		}
+		return false;
+	}
+
+	/**
+	 * Testea si el tramo [start, end) es una palabra del diccionario sin crear
+	 * objetos intermedios.
+	 */
+	public boolean isWord(CharSequence chars, int start, int end) {
+		if(chars == null || start >= end){
+			return false;
+		}
+		return find(words, chars, start, end) >= 0;
+	}
+
+	public boolean isPrefix(String prefix) {
+		if(prefix == null){
+			return false;
+		}
+		if(prefix.isEmpty()){
+			return numWords > 0;
+		}
+		return find(prefixes, prefix, 0, prefix.length()) >= 0;
+	}
+
+	/**
+	 * Recorre las palabras en el orden en que fueron agregadas.
+	 */
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int id = 0;
+
+			public boolean hasNext() {
+				return id < numWords;
+			}
+
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				String word = new String(data, offsets[id], offsets[id + 1] - offsets[id]);
+				id++;
+				return word;
+			}
+		};
+	}
+
+	/**
+	 * Retorna el id de la palabra [start, end): su posición en el orden en que
+	 * fueron agregadas.
+	 *
+	 * @return el id, o -1 si no está en el diccionario
+	 */
+	int indexOf(CharSequence chars, int start, int end) {
+		if(chars == null || start >= end){
+			return -1;
+		}
+		int slot = find(words, chars, start, end);
+		return slot < 0 ? -1 : entryId(words[slot]);
+	}
+
+	/**
+	 * Agrega una palabra (y todos sus prefijos) al diccionario.
+	 *
+	 * @return el id de la palabra, nuevo o el que ya tenía
+	 */
+	int add(String word) {
+		int length = word.length();
+		int existing = find(words, word, 0, length);
+		if (existing >= 0) {
+			return entryId(words[existing]);
+		}
+		int id = numWords;
+		int start = offsets[id];
+		if (start + length > data.length) {
+			data = Arrays.copyOf(data, Math.max(data.length * 2, start + length));
+		}
+		for (int i = 0; i < length; i++) {
+			data[start + i] = CaseFolding.fold(word.charAt(i));
+		}
+		if (id + 2 > offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[id + 1] = start + length;
+		numWords++;
+
+		if ((usedWords + 1) * 2 > words.length) {
+			words = rehash(words);
+		}
+		insert(words, id, length);
+		usedWords++;
+
+		for (int len = 1; len <= length; len++) {
+			if (find(prefixes, word, 0, len) < 0) {
+				if ((usedPrefixes + 1) * 2 > prefixes.length) {
+					prefixes = rehash(prefixes);
+				}
+				insert(prefixes, id, len);
+				usedPrefixes++;
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Busca el tramo [start, end) en la tabla.
+	 *
+	 * @return la posición en la tabla o -1 si no está
+	 */
+	private int find(long[] table, CharSequence chars, int start, int end) {
+		int length = end - start;
+		int mask = table.length - 1;
+		int slot = CaseFolding.hash(chars, start, end) & mask;
+		long entry;
+		while ((entry = table[slot]) != 0) {
+			if (entryLength(entry) == length && matches(entryId(entry), chars, start, length)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private boolean matches(int id, CharSequence chars, int start, int length) {
+		int offset = offsets[id];
+		for (int i = 0; i < length; i++) {
+			if (data[offset + i] != CaseFolding.fold(chars.charAt(start + i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void insert(long[] table, int id, int length) {
+		int mask = table.length - 1;
+		int slot = CaseFolding.hash(data, offsets[id], length) & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = entry(id, length);
+	}
+
+	private long[] rehash(long[] table) {
+		long[] old = table;
+		long[] resized = new long[old.length * 2];
+		for (long entry : old) {
+			if (entry != 0) {
+				insert(resized, entryId(entry), entryLength(entry));
+			}
+		}
+		return resized;
+	}
+
+	//Una entrada vacía es 0, por eso el id se guarda desplazado en uno
+	private static long entry(int id, int length) {
+		return ((long) (id + 1) << 32) | length;
+	}
+
+	private static int entryId(long entry) {
+		return (int) (entry >>> 32) - 1;
+	}
+
+	private static int entryLength(long entry) {
+		return (int) entry;
+	}
+}
@@ -0,0 +1,90 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.Iterator;
+
+/**
+ * Abstracción de un diccionario de palabras conocidas.
+ * <p>
+ * Permite que el SpellChecker y los Correctors trabajen con cualquier
+ * implementación (TreeSet, Trie, tabla hash, etc.) sin depender de una
+ * estructura concreta.
+ * <p>
+ * Todas las implementaciones son case insensitive. Iterar un Lexicon recorre
+ * cada palabra una sola vez, en minúscula; el orden depende de la implementación.
+ *
+ * @see Dictionary
+ * @see TrieDictionary
+ * @see HashDictionary
+ */
+public interface Lexicon extends Iterable<String> {
+
+	/**
+	 * Testea si una palabra es parte del diccionario.
+	 * null debe retornar falso.
+	 *
+	 * @param word palabra a verificar, sin espacios alrededor.
+	 * @return si la palabra está en el diccionario.
+	 */
+	boolean isWord(String word);
+
+	/**
+	 * Testea si el tramo [start, end) de la secuencia es una palabra del
+	 * diccionario, sin distinguir mayúsculas.
+	 * <p>
+	 * Permite a los Correctors probar candidatos armados en un buffer reutilizable.
+	 * La implementación por defecto crea un String; las implementaciones que
+	 * puedan plegar las mayúsculas durante la búsqueda deben sobreescribirla
+	 * para no crear objetos por consulta.
+	 *
+	 * @param chars secuencia que contiene la palabra.
+	 * @param start inicio de la palabra (inclusive).
+	 * @param end fin de la palabra (exclusive).
+	 * @return si la palabra está en el diccionario.
+	 */
+	default boolean isWord(CharSequence chars, int start, int end) {
+		if (chars == null) {
+			return false;
+		}
+		return isWord(chars.subSequence(start, end).toString());
+	}
+
+	/**
+	 * Retorna la frecuencia del tramo [start, end) de la secuencia, usada para
+	 * ordenar sugerencias de igual costo. Por defecto 0; los diccionarios que
+	 * conocen frecuencias (ver {@link FrequencyDictionary}) la sobreescriben,
+	 * y los que decoran a otro la delegan.
+	 *
+	 * @param chars secuencia que contiene la palabra.
+	 * @param start inicio de la palabra (inclusive).
+	 * @param end fin de la palabra (exclusive).
+	 * @return la frecuencia, o 0 si no se conoce o no es una palabra del diccionario
+	 */
+	default int getFrequency(CharSequence chars, int start, int end) {
+		return 0;
+	}
+
+	/**
+	 * Retorna el número de palabras únicas del diccionario.
+	 *
+	 * @return número de palabras únicas
+	 */
+	int getNumWords();
+
+	/**
+	 * Testea si alguna palabra del diccionario comienza con el prefijo dado.
+	 * El string vacío es prefijo de cualquier diccionario no vacío.
+	 * null debe retornar falso.
+	 *
+	 * @param prefix prefijo a verificar.
+	 * @return si existe al menos una palabra con ese prefijo.
+	 */
+	boolean isPrefix(String prefix);
+
+	/**
+	 * Recorre las palabras del diccionario, en minúscula.
+	 * El iterador no permite modificar el diccionario.
+	 *
+	 * @return iterador sobre las palabras únicas
+	 */
+	Iterator<String> iterator();
+}
@@ -0,0 +1,281 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Diccionario de solo lectura que responde directamente desde un snapshot
+ * binario mapeado en memoria.
+ * El diccionario es case insensitive.
+ * <p>
+ * El snapshot se genera una única vez con {@link #compile(TokenScanner, File)}
+ * y se abre con {@link #open(String)}, que solo mapea el archivo con
+ * FileChannel.map: no se tokeniza ni se construye ninguna estructura, por lo
+ * que el arranque es de tiempo constante y varias JVMs comparten las mismas
+ * páginas del cache del sistema operativo.
+ * <p>
+ * Formato (big endian):
+ * <pre>
+ * int   MAGIC, VERSION
+ * int   numWords, tableSize, numChars
+ * int[numWords]   inicio de cada palabra en la zona de caracteres, en orden lexicográfico
+ * int[tableSize]  tabla hash con sondeo lineal: índice de la palabra + 1 (0 = vacío)
+ * char[numChars]  palabras en minúscula, cada una precedida por su longitud
+ * </pre>
+ * El hash es el de CaseFolding, por lo que cambiarlo requiere subir VERSION.
+ */
+public class MappedDictionary implements Lexicon {
+
+	static final int MAGIC = 0x53504443; // "SPDC"
+	static final int VERSION = 1;
+	private static final int HEADER_BYTES = 5 * 4;
+
+	private final int numWords;
+	private final IntBuffer sorted;
+	private final IntBuffer table;
+	private final CharBuffer chars;
+	private final int mask;
+
+	private MappedDictionary(ByteBuffer buffer) throws IOException {
+		if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+			throw new IOException("el archivo no es un diccionario compilado");
+		}
+		if (buffer.getInt(4) != VERSION) {
+			throw new IOException("versión de diccionario compilado no soportada: " + buffer.getInt(4));
+		}
+		numWords = buffer.getInt(8);
+		int tableSize = buffer.getInt(12);
+		int numChars = buffer.getInt(16);
+		long expected = HEADER_BYTES + 4L * numWords + 4L * tableSize + 2L * numChars;
+		if (numWords < 0 || Integer.bitCount(tableSize) != 1 || buffer.capacity() != expected) {
+			throw new IOException("diccionario compilado corrupto");
+		}
+		mask = tableSize - 1;
+		sorted = region(buffer, HEADER_BYTES, 4 * numWords).asIntBuffer();
+		table = region(buffer, HEADER_BYTES + 4 * numWords, 4 * tableSize).asIntBuffer();
+		chars = region(buffer, HEADER_BYTES + 4 * numWords + 4 * tableSize, 2 * numChars).asCharBuffer();
+	}
+
+	private static ByteBuffer region(ByteBuffer buffer, int position, int length) {
+		ByteBuffer duplicate = buffer.duplicate();
+		duplicate.position(position);
+		duplicate.limit(position + length);
+		return duplicate.slice();
+	}
+
+	/**
+	 * Abre un diccionario compilado mapeando el archivo en memoria.
+	 *
+	 * @param filename archivo generado por compile
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException si el archivo no tiene el formato esperado
+	 */
+	public static MappedDictionary open(String filename) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(filename, "r");
+		try {
+			FileChannel channel = file.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new MappedDictionary(buffer);
+		} finally {
+			file.close(); // El mapeo sigue siendo válido después de cerrar el canal
+		}
+	}
+
+	/**
+	 * Compila las palabras válidas del TokenScanner al formato binario.
+	 *
+	 * @param ts fuente de palabras
+	 * @param out archivo destino
+	 * @throws IOException Error leyendo o escribiendo
+	 * @throws IllegalArgumentException el TokenScanner es null
+	 */
+	public static void compile(TokenScanner ts, File out) throws IOException {
+		if (ts == null) {
+			throw new IllegalArgumentException();
+		}
+		TreeSet<String> words = new TreeSet<String>();
+		while (ts.hasNext()) {
+			String nextString = ts.next();
+			if (TokenScanner.isWord(nextString)) {
+				char[] folded = nextString.toCharArray();
+				for (int i = 0; i < folded.length; i++) {
+					folded[i] = CaseFolding.fold(folded[i]);
+				}
+				words.add(new String(folded));
+			}
+		}
+
+		int numWords = words.size();
+		int tableSize = Integer.highestOneBit(Math.max(numWords, 1) * 2 - 1) << 1;
+		int[] offsets = new int[numWords];
+		int[] table = new int[tableSize];
+		int numChars = 0;
+		int index = 0;
+		for (String word : words) {
+			if (word.length() > Character.MAX_VALUE) {
+				throw new IOException("palabra demasiado larga: " + word.length() + " caracteres");
+			}
+			offsets[index] = numChars;
+			int slot = CaseFolding.hash(word, 0, word.length()) & (tableSize - 1);
+			while (table[slot] != 0) {
+				slot = (slot + 1) & (tableSize - 1);
+			}
+			table[slot] = index + 1;
+			numChars += 1 + word.length();
+			index++;
+		}
+
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(out)));
+		try {
+			data.writeInt(MAGIC);
+			data.writeInt(VERSION);
+			data.writeInt(numWords);
+			data.writeInt(tableSize);
+			data.writeInt(numChars);
+			for (int offset : offsets) {
+				data.writeInt(offset);
+			}
+			for (int slot : table) {
+				data.writeInt(slot);
+			}
+			for (String word : words) {
+				data.writeChar(word.length());
+				data.writeChars(word);
+			}
+		} finally {
+			data.close();
+		}
+	}
+
+	/**
+	 * Compila un archivo de texto en UTF-8 al formato binario.
+	 *
+	 * @param filename diccionario de texto
+	 * @param out archivo destino
+	 * @throws IOException Error leyendo o escribiendo
+	 */
+	public static void compile(String filename, String out) throws IOException {
+		MappedTokenScanner ts = new MappedTokenScanner(new File(filename), StandardCharsets.UTF_8);
+		try {
+			compile(ts, new File(out));
+		} finally {
+			ts.close();
+		}
+	}
+
+	public int getNumWords() {
+		return numWords;
+	}
+
+	public boolean isWord(String word) {
+		if (word != null) {
+			return isWord(word, 0, word.length());
+		}
+		return false;
+	}
+
+	/**
+	 * Busca el tramo [start, end) en la tabla hash mapeada, sin crear objetos.
+	 */
+	public boolean isWord(CharSequence s, int start, int end) {
+		if (s == null || start >= end) {
+			return false;
+		}
+		int slot = CaseFolding.hash(s, start, end) & mask;
+		int entry;
+		while ((entry = table.get(slot)) != 0) {
+			if (compare(sorted.get(entry - 1), s, start, end) == 0) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Busca por bisección la primer palabra mayor o igual al prefijo y
+	 * verifica si comienza con él.
+	 */
+	public boolean isPrefix(String prefix) {
+		if (prefix == null) {
+			return false;
+		}
+		int low = 0;
+		int high = numWords;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compare(sorted.get(middle), prefix, 0, prefix.length()) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low < numWords && startsWith(sorted.get(low), prefix);
+	}
+
+	/**
+	 * Recorre las palabras en orden lexicográfico, leyéndolas del archivo mapeado.
+	 */
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int index = 0;
+
+			public boolean hasNext() {
+				return index < numWords;
+			}
+
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				int offset = sorted.get(index++);
+				char[] word = new char[chars.get(offset)];
+				for (int i = 0; i < word.length; i++) {
+					word[i] = chars.get(offset + 1 + i);
+				}
+				return new String(word);
+			}
+		};
+	}
+
+	/**
+	 * Compara la palabra mapeada en offset con el tramo plegado [start, end).
+	 */
+	private int compare(int offset, CharSequence s, int start, int end) {
+		int length = chars.get(offset);
+		int other = end - start;
+		int n = Math.min(length, other);
+		for (int i = 0; i < n; i++) {
+			char a = chars.get(offset + 1 + i);
+			char b = CaseFolding.fold(s.charAt(start + i));
+			if (a != b) {
+				return a - b;
+			}
+		}
+		return length - other;
+	}
+
+	private boolean startsWith(int offset, CharSequence prefix) {
+		int length = chars.get(offset);
+		if (length < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (chars.get(offset + 1 + i) != CaseFolding.fold(prefix.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,86 @@
+package edu.isistan.spellchecker.corrector;
+
+/**
+ * Una sugerencia de corrección con su puntaje.
+ * <p>
+ * Las sugerencias se ordenan de mejor a peor: primero por menor costo de
+ * edición, luego por mayor frecuencia de la palabra y por último
+ * alfabéticamente.
+ */
+public final class Suggestion implements Comparable<Suggestion> {
+
+	private final String word;
+	private final int cost;
+	private final long frequency;
+	private final String source;
+
+	/**
+	 * @param word palabra sugerida
+	 * @param cost costo de edición desde la palabra mal escrita
+	 * @param frequency frecuencia de la palabra sugerida (0 si no se conoce)
+	 * @param source nombre del corrector que la generó
+	 * @throws IllegalArgumentException si word o source son null
+	 */
+	public Suggestion(String word, int cost, long frequency, String source) {
+		if (word == null || source == null) {
+			throw new IllegalArgumentException();
+		}
+		this.word = word;
+		this.cost = cost;
+		this.frequency = frequency;
+		this.source = source;
+	}
+
+	public String getWord() {
+		return word;
+	}
+
+	public int getCost() {
+		return cost;
+	}
+
+	public long getFrequency() {
+		return frequency;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * @return una copia de la sugerencia con otra palabra (por ejemplo, con otra capitalización)
+	 */
+	public Suggestion withWord(String word) {
+		return new Suggestion(word, cost, frequency, source);
+	}
+
+	public int compareTo(Suggestion other) {
+		if (cost != other.cost) {
+			return cost < other.cost ? -1 : 1;
+		}
+		if (frequency != other.frequency) {
+			return frequency > other.frequency ? -1 : 1;
+		}
+		return word.compareTo(other.word);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof Suggestion)) {
+			return false;
+		}
+		Suggestion other = (Suggestion) o;
+		return word.equals(other.word) && cost == other.cost && frequency == other.frequency
+				&& source.equals(other.source);
+	}
+
+	@Override
+	public int hashCode() {
+		return ((word.hashCode() * 31 + cost) * 31 + Long.hashCode(frequency)) * 31 + source.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return word + " (costo " + cost + ", frecuencia " + frequency + ", " + source + ")";
+	}
+}
@@ -0,0 +1,135 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conserva las k mejores sugerencias de una secuencia sin guardar ni ordenar
+ * todas las candidatas.
+ * <p>
+ * Es un heap binario cuya raiz es la peor de las sugerencias guardadas: una
+ * candidata nueva solo entra si es mejor que ella, y la desplaza. Con
+ * {@link #accepts(int, long)} se puede preguntar antes de crear la palabra si
+ * una candidata con ese costo y frecuencia tiene chances de entrar.
+ * <p>
+ * Si una palabra se ofrece más de una vez (por ejemplo desde dos correctores)
+ * se conserva su mejor sugerencia.
+ */
+public class SuggestionHeap {
+
+	private final Suggestion[] heap;
+	private int size;
+
+	/**
+	 * @param k cantidad de sugerencias a conservar, al menos 1
+	 * @throws IllegalArgumentException si k es menor a 1
+	 */
+	public SuggestionHeap(int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("k debe ser al menos 1");
+		}
+		heap = new Suggestion[k];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isFull() {
+		return size == heap.length;
+	}
+
+	/**
+	 * @return la peor sugerencia guardada, o null si no hay ninguna
+	 */
+	public Suggestion worst() {
+		return size == 0 ? null : heap[0];
+	}
+
+	/**
+	 * Indica si una candidata con ese costo y frecuencia podría entrar. Si
+	 * empata en ambos con la peor guardada decide la palabra, por lo que
+	 * retorna true.
+	 */
+	public boolean accepts(int cost, long frequency) {
+		if (!isFull()) {
+			return true;
+		}
+		Suggestion worst = heap[0];
+		return cost < worst.getCost() || (cost == worst.getCost() && frequency >= worst.getFrequency());
+	}
+
+	/**
+	 * Ofrece una candidata.
+	 *
+	 * @return si la candidata quedó entre las k mejores
+	 */
+	public boolean offer(Suggestion suggestion) {
+		for (int i = 0; i < size; i++) {
+			if (heap[i].getWord().equals(suggestion.getWord())) {
+				if (suggestion.compareTo(heap[i]) >= 0) {
+					return false;
+				}
+				// La nueva es mejor: reemplaza a la anterior y baja hacia las hojas
+				heap[i] = suggestion;
+				siftDown(i);
+				return true;
+			}
+		}
+		if (size < heap.length) {
+			heap[size] = suggestion;
+			siftUp(size++);
+			return true;
+		}
+		if (suggestion.compareTo(heap[0]) >= 0) {
+			return false;
+		}
+		heap[0] = suggestion;
+		siftDown(0);
+		return true;
+	}
+
+	/**
+	 * @return las sugerencias guardadas, de la mejor a la peor
+	 */
+	public List<Suggestion> toList() {
+		Suggestion[] sorted = Arrays.copyOf(heap, size);
+		Arrays.sort(sorted);
+		return Collections.unmodifiableList(new ArrayList<Suggestion>(Arrays.asList(sorted)));
+	}
+
+	// La raiz es la peor: cada padre es peor o igual que sus hijos
+	private void siftUp(int i) {
+		Suggestion s = heap[i];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (heap[parent].compareTo(s) >= 0) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = s;
+	}
+
+	private void siftDown(int i) {
+		Suggestion s = heap[i];
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && heap[child + 1].compareTo(heap[child]) > 0) {
+				child++;
+			}
+			if (s.compareTo(heap[child]) >= 0) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = s;
+	}
+}
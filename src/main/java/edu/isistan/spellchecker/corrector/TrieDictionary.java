@@ -1,9 +1,12 @@
 package edu.isistan.spellchecker.corrector;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 /**
@@ -12,12 +15,28 @@ import edu.isistan.spellchecker.tokenizer.TokenScanner;
  *
  * Una palabra "válida" es una secuencia de letras (determinado por Character.isLetter)
  * o apostrofes.
+ * <p>
+ * El Trie se guarda en arreglos paralelos indexados por número de nodo, sin un
+ * objeto por nodo: cada nodo tiene la letra con la que se llega a él, su primer
+ * hijo y su siguiente hermano. Los hermanos se mantienen ordenados por letra,
+ * por lo que cualquier caracter aceptado por TokenScanner (letras acentuadas,
+ * ñ, etc.) ocupa lo mismo que una letra a-z y solo los hijos que existen
+ * ocupan lugar.
+ * <p>
+ * Una vez cargado, el Trie puede minimizarse a un {@link DawgDictionary} de
+ * solo lectura con {@link #minimize()}.
  */
-public class TrieDictionary {
+public class TrieDictionary implements TrieLexicon {
 
-    static final int ALPHABET_SIZE = 27; //Se suma 1 valor para el apóstrofe a las 26
+    private static final int ROOT = 0; //El nodo raiz; como nunca es hijo de otro, 0 también significa "ninguno"
 
-    private TrieNode dictionary; //Nodo raiz
+    private char[] labels = new char[1024]; //Letra de la arista que entra a cada nodo
+    private int[] firstChild = new int[1024]; //Primer hijo (el de menor letra) de cada nodo
+    private int[] nextSibling = new int[1024]; //Siguiente hermano (de mayor letra) de cada nodo
+    private BitSet endOfWord = new BitSet(); //Indica si el nodo es el final de una palabra
+    private int numNodes = 1; //Arranca solo con la raiz
+
+    private int numWords; //Cantidad de palabras distintas insertadas
 
     /**
      * Construye un diccionario usando un TokenScanner
@@ -32,32 +51,33 @@ public class TrieDictionary {
      * @throws IllegalArgumentException el TokenScanner es null
      */
     public TrieDictionary(TokenScanner ts) throws IOException {
-        this. dictionary = new TrieNode();
         if(ts == null){
             throw new IllegalArgumentException();
         }
         while (ts.hasNext()){
             String nextString = ts.next();
             if(TokenScanner.isWord(nextString)){
-                this.insert(nextString.toLowerCase());
+                this.insert(nextString);
             }
         }
     }
 
 
     /**
-     * Construye un diccionario usando un archivo.
+     * Construye un diccionario usando un archivo en UTF-8.
      *
      *
      * @param filename
      * @throws FileNotFoundException si el archivo no existe
      * @throws IOException Error leyendo el archivo
      */
-        public static TrieDictionary make(String filename) throws IOException {
-        Reader r = new FileReader(filename);
-        TrieDictionary d = new TrieDictionary(new TokenScanner(r));
-        r.close();
-        return d;
+    public static TrieDictionary make(String filename) throws IOException {
+        MappedTokenScanner ts = new MappedTokenScanner(new File(filename), StandardCharsets.UTF_8);
+        try {
+            return new TrieDictionary(ts);
+        } finally {
+            ts.close();
+        }
     }
 
     /**
@@ -67,10 +87,18 @@ public class TrieDictionary {
      *
      * @return número de palabras únicas
      */
-//    public int getNumWords() {
-//        int numPalabras = dictionary.size();
-//        return numPalabras;
-//    }
+    public int getNumWords() {
+        return this.numWords;
+    }
+
+    /**
+     * Retorna el número de nodos del Trie, incluida la raiz.
+     *
+     * @return número de nodos
+     */
+    public int getNumNodes() {
+        return this.numNodes;
+    }
 
     /**
      * Testea si una palabra es parte del diccionario. Si la palabra no está en
@@ -80,13 +108,38 @@ public class TrieDictionary {
      *
      *Llamar a este método no debe reabrir el archivo de palabras.
      *
-     * @param //word verifica si la palabra está en el diccionario.
+     * @param word verifica si la palabra está en el diccionario.
      * Asuma que todos los espacios en blanco antes y despues de la palabra fueron removidos.
      * @return si la palabra está en el diccionario.
      */
     public boolean isWord(String word) {
         if(word != null){
-            return this.search(word.toLowerCase());
+            return this.search(word);
+        }
+        return false;
+    }
+
+    /**
+     * Igual que isWord(String) pero recorre el Trie directamente sobre el tramo
+     * [start, end), plegando las mayúsculas sin crear un String.
+     */
+    public boolean isWord(CharSequence chars, int start, int end) {
+        if(chars == null || start >= end){
+            return false;
+        }
+        int current = this.find(chars, start, end);
+        return current >= 0 && endOfWord.get(current);
+    }
+
+    /**
+     * Testea si alguna palabra del diccionario comienza con el prefijo dado.
+     *
+     * @param prefix prefijo a verificar.
+     * @return si existe al menos una palabra con ese prefijo.
+     */
+    public boolean isPrefix(String prefix) {
+        if(prefix != null){
+            return this.numWords > 0 && this.find(prefix, 0, prefix.length()) >= 0;
         }
         return false;
     }
@@ -96,50 +149,181 @@ public class TrieDictionary {
 
     public void insert(String key)
     {
-        int level;
-        int length = key.length();
-        int index;
+        int current = ROOT;
 
-        TrieNode current = this.dictionary;
-
-        for (level = 0; level < length; level++)
+        for (int level = 0; level < key.length(); level++)
         {
-            if (key.charAt(level) == '\'')
-                index = 26;
-            else
-                index = key.charAt(level) - 'a';  //Se le resta el valor en ASCII de la letra a para que se sitúe entre 0 y 25 (las letras en el array)
+            char c = CaseFolding.fold(key.charAt(level));
+
+            //Se busca el hijo con la letra c manteniendo los hermanos ordenados
+            int previous = ROOT;
+            int child = firstChild[current];
+            while (child != ROOT && labels[child] < c) {
+                previous = child;
+                child = nextSibling[child];
+            }
 
-            if (current.children[index] == null)
-                current.children[index] = new TrieNode();
+            if (child == ROOT || labels[child] != c) {
+                int node = this.newNode(c);
+                nextSibling[node] = child;
+                if (previous == ROOT)
+                    firstChild[current] = node;
+                else
+                    nextSibling[previous] = node;
+                child = node;
+            }
 
-            current = current.children[index];
+            current = child;
         }
 
         // mark last node as leaf
-        current.isEndOfWord = true;
+        if (!endOfWord.get(current))
+            this.numWords++;
+        endOfWord.set(current);
     }
 
     public boolean search(String key)
     {
-        int level;
-        int length = key.length();
-        int index;
-        TrieNode current = this.dictionary;
+        int current = this.find(key, 0, key.length());
+        return current >= 0 && endOfWord.get(current);
+    }
+
+    //Retorna el nodo alcanzado al recorrer la clave, o -1 si no hay camino
+    private int find(CharSequence key, int start, int end)
+    {
+        int current = ROOT;
 
-        for (level = 0; level < length; level++)
+        for (int level = start; level < end; level++)
         {
-            if (key.charAt(level) == '\'')
-                index = 26;
-            else
-                index = key.charAt(level) - 'a';  //Se le resta el valor en ASCII de la letra a para que se sitúe entre 0 y 25 (las letras en el array)
+            char c = CaseFolding.fold(key.charAt(level));
+            int child = firstChild[current];
+            while (child != ROOT && labels[child] < c)
+                child = nextSibling[child];
 
-            if (current.children[index] == null)
-                return false;
+            if (child == ROOT || labels[child] != c)
+                return -1;
 
-            current = current.children[index];
+            current = child;
         }
 
-        return (current.isEndOfWord);
+        return current;
+    }
+
+    //Recorrido del Trie como autómata: la arista que entra a un nodo se identifica con el nodo
+
+    public int root() {
+        return ROOT;
+    }
+
+    public boolean isFinal(int state) {
+        return endOfWord.get(state);
+    }
+
+    public int firstEdge(int state) {
+        int child = firstChild[state];
+        return child == ROOT ? NONE : child;
+    }
+
+    public int nextEdge(int edge) {
+        int sibling = nextSibling[edge];
+        return sibling == ROOT ? NONE : sibling;
+    }
+
+    public char edgeLabel(int edge) {
+        return labels[edge];
+    }
+
+    public int edgeTarget(int edge) {
+        return edge;
+    }
+
+    /**
+     * Construye el autómata mínimo (DAWG) que acepta las mismas palabras.
+     * <p>
+     * Recorre el Trie en post-orden y une los nodos equivalentes: dos nodos son
+     * equivalentes si ambos son (o no) final de palabra y tienen las mismas
+     * letras salientes hacia los mismos estados ya minimizados. El Trie no se
+     * modifica.
+     *
+     * @return un DawgDictionary de solo lectura con las mismas palabras
+     */
+    public DawgDictionary minimize() {
+        Minimizer m = new Minimizer(this.numNodes);
+        int root = m.register(this, ROOT);
+        return new DawgDictionary(root, Arrays.copyOf(m.edgeStart, m.numStates + 1),
+                Arrays.copyOf(m.labels, m.numEdges), Arrays.copyOf(m.targets, m.numEdges),
+                m.finals, this.numWords);
+    }
+
+    //Estado intermedio de minimize(): los estados del DAWG en orden de creación
+    private static class Minimizer {
+        private final HashMap<String, Integer> registry = new HashMap<String, Integer>();
+        private int[] edgeStart;
+        private char[] labels;
+        private int[] targets;
+        private final BitSet finals = new BitSet();
+        private int numStates;
+        private int numEdges;
+
+        Minimizer(int trieNodes) {
+            edgeStart = new int[1024];
+            labels = new char[Math.max(trieNodes, 1)];
+            targets = new int[Math.max(trieNodes, 1)];
+        }
+
+        //Retorna el estado del DAWG equivalente al nodo, creándolo si no existía
+        int register(TrieDictionary trie, int node) {
+            int count = 0;
+            for (int child = trie.firstEdge(node); child != NONE; child = trie.nextEdge(child))
+                count++;
+
+            char[] childLabels = new char[count];
+            int[] childStates = new int[count];
+            StringBuilder signature = new StringBuilder(1 + 3 * count);
+            signature.append(trie.isFinal(node) ? '1' : '0');
+            int i = 0;
+            for (int child = trie.firstEdge(node); child != NONE; child = trie.nextEdge(child)) {
+                childLabels[i] = trie.edgeLabel(child);
+                childStates[i] = this.register(trie, child);
+                signature.append(childLabels[i])
+                        .append((char) (childStates[i] >>> 16))
+                        .append((char) childStates[i]);
+                i++;
+            }
+
+            String key = signature.toString();
+            Integer existing = registry.get(key);
+            if (existing != null)
+                return existing;
+
+            int state = numStates++;
+            if (numStates + 1 > edgeStart.length)
+                edgeStart = Arrays.copyOf(edgeStart, edgeStart.length * 2);
+            edgeStart[state] = numEdges;
+            for (i = 0; i < count; i++) {
+                labels[numEdges] = childLabels[i];
+                targets[numEdges] = childStates[i];
+                numEdges++;
+            }
+            edgeStart[state + 1] = numEdges;
+            if (trie.isFinal(node))
+                finals.set(state);
+            registry.put(key, state);
+            return state;
+        }
+    }
+
+    private int newNode(char label)
+    {
+        if (numNodes == labels.length) {
+            int capacity = labels.length * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+        }
+        int node = numNodes++;
+        labels[node] = label;
+        return node;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Recorre en profundidad las palabras de un TrieLexicon, en orden lexicográfico.
+ * <p>
+ * Usa una pila explícita con la arista actual de cada nivel, por lo que no
+ * depende de la recursión ni guarda más que el camino actual.
+ */
+class TrieIterator implements Iterator<String> {
+
+	private final TrieLexicon trie;
+	private int[] edges = new int[16]; // Arista tomada en cada nivel del camino actual
+	private char[] path = new char[16];
+	private int depth;
+	private String next;
+
+	TrieIterator(TrieLexicon trie) {
+		this.trie = trie;
+		this.depth = 0;
+		edges[0] = trie.firstEdge(trie.root());
+		this.next = trie.isFinal(trie.root()) ? "" : this.advance();
+	}
+
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	public String next() {
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+		String answer = next;
+		next = this.advance();
+		return answer;
+	}
+
+	// Avanza hasta el siguiente estado final en pre-orden, o retorna null al terminar
+	private String advance() {
+		while (depth >= 0) {
+			int edge = edges[depth];
+			if (edge == TrieLexicon.NONE) {
+				depth--;
+				if (depth >= 0) {
+					edges[depth] = trie.nextEdge(edges[depth]);
+				}
+				continue;
+			}
+			if (depth + 1 == edges.length) {
+				edges = Arrays.copyOf(edges, edges.length * 2);
+				path = Arrays.copyOf(path, path.length * 2);
+			}
+			path[depth] = trie.edgeLabel(edge);
+			int target = trie.edgeTarget(edge);
+			depth++;
+			edges[depth] = trie.firstEdge(target);
+			if (trie.isFinal(target)) {
+				return new String(path, 0, depth);
+			}
+		}
+		return null;
+	}
+}
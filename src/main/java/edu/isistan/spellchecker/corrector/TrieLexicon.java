@@ -0,0 +1,69 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.Iterator;
+
+/**
+ * Diccionario que expone su estructura de autómata (Trie o DAWG) para poder
+ * recorrerla letra por letra.
+ * <p>
+ * Los estados y las aristas se identifican con enteros. Desde un estado se
+ * recorren sus aristas salientes, ordenadas por letra, con firstEdge/nextEdge;
+ * cada arista tiene una letra (ya en minúscula) y un estado destino. Una palabra
+ * está en el diccionario si el camino que la deletrea desde root termina en un
+ * estado final.
+ * <p>
+ * Ejemplo, recorrer los hijos de un estado:
+ * <pre>
+ * for (int e = t.firstEdge(state); e != TrieLexicon.NONE; e = t.nextEdge(e)) {
+ *     char c = t.edgeLabel(e);
+ *     int next = t.edgeTarget(e);
+ * }
+ * </pre>
+ */
+public interface TrieLexicon extends Lexicon {
+
+	/** Valor retornado cuando no hay arista o estado. */
+	int NONE = -1;
+
+	/**
+	 * @return el estado inicial
+	 */
+	int root();
+
+	/**
+	 * @param state estado
+	 * @return si el camino hasta el estado deletrea una palabra
+	 */
+	boolean isFinal(int state);
+
+	/**
+	 * @param state estado
+	 * @return la arista saliente de menor letra, o NONE si no tiene
+	 */
+	int firstEdge(int state);
+
+	/**
+	 * @param edge arista
+	 * @return la siguiente arista saliente del mismo estado, o NONE si era la última
+	 */
+	int nextEdge(int edge);
+
+	/**
+	 * @param edge arista
+	 * @return la letra (en minúscula) de la arista
+	 */
+	char edgeLabel(int edge);
+
+	/**
+	 * @param edge arista
+	 * @return el estado al que llega la arista
+	 */
+	int edgeTarget(int edge);
+
+	/**
+	 * Recorre las palabras en profundidad, en orden lexicográfico.
+	 */
+	default Iterator<String> iterator() {
+		return new TrieIterator(this);
+	}
+}
@@ -0,0 +1,378 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import edu.isistan.spellchecker.corrector.CaseFolding;
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.SuggestionHeap;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Corrector basado en un BK-tree indexado por distancia de Levenshtein.
+ * <p>
+ * Cada nodo guarda una palabra y cuelga a sus hijos según la distancia a
+ * ella. Para buscar las palabras a distancia a lo sumo k de una consulta que
+ * está a distancia d de un nodo, por la desigualdad triangular solo hace
+ * falta bajar a los hijos con distancia entre d - k y d + k, por lo que no se
+ * enumeran los candidatos y el umbral puede ser cualquiera.
+ * <p>
+ * El árbol se guarda en arreglos paralelos indexados por nodo (primer hijo y
+ * siguiente hermano, como TrieDictionary) y las palabras una detrás de otra en
+ * un único arreglo de caracteres, así que recorrerlo no salta entre objetos
+ * String. Puede guardarse en un archivo con
+ * {@link #save(String)} y cargarse con {@link #load(String, int)} para no
+ * reconstruirlo en cada arranque.
+ */
+public class BKTreeCorrector extends Corrector {
+
+	static final int MAGIC = 0x53504254; // "SPBT"
+	static final int VERSION = 1;
+	private static final int NONE = -1;
+
+	private char[] data = new char[8192]; // Palabras en minúscula, una detrás de otra
+	private int[] offsets; // Inicio de cada palabra en data; offsets[numNodes] es el fin
+	private int[] distances; // Distancia de cada nodo a su padre
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int numNodes;
+	private int maxLength; // Largo de la palabra más larga
+	private int numChars;
+	private final int maxDistance;
+
+	/**
+	 * Construye el árbol con las palabras del diccionario.
+	 *
+	 * @param dict diccionario
+	 * @param maxDistance distancia máxima usada por getCorrections(String), al menos 1
+	 * @throws IllegalArgumentException si el diccionario es null o la distancia es menor a 1
+	 */
+	public BKTreeCorrector(Lexicon dict, int maxDistance) {
+		this(maxDistance, Math.max(dict == null ? 0 : dict.getNumWords(), 1));
+		if (dict == null) {
+			throw new IllegalArgumentException();
+		}
+		for (String word : dict) {
+			insert(CaseFolding.fold(word));
+		}
+		reorder();
+	}
+
+	private BKTreeCorrector(int maxDistance, int capacity) {
+		if (maxDistance < 1) {
+			throw new IllegalArgumentException("la distancia debe ser al menos 1");
+		}
+		this.maxDistance = maxDistance;
+		this.offsets = new int[capacity + 1];
+		this.distances = new int[capacity];
+		this.firstChild = new int[capacity];
+		this.nextSibling = new int[capacity];
+	}
+
+	/**
+	 * Carga un árbol guardado con save.
+	 *
+	 * @param filename archivo generado por save
+	 * @param maxDistance distancia máxima usada por getCorrections(String), al menos 1
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException si el archivo no tiene el formato esperado
+	 */
+	public static BKTreeCorrector load(String filename, int maxDistance) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)));
+		try {
+			if (data.readInt() != MAGIC) {
+				throw new IOException("el archivo no es un BK-tree");
+			}
+			int version = data.readInt();
+			if (version != VERSION) {
+				throw new IOException("versión de BK-tree no soportada: " + version);
+			}
+			int numNodes = data.readInt();
+			if (numNodes < 0) {
+				throw new IOException("BK-tree corrupto");
+			}
+			BKTreeCorrector tree = new BKTreeCorrector(maxDistance, Math.max(numNodes, 1));
+			for (int node = 0; node < numNodes; node++) {
+				tree.newNode(data.readUTF(), data.readInt());
+				tree.firstChild[node] = data.readInt();
+				tree.nextSibling[node] = data.readInt();
+				if (!isNode(tree.firstChild[node], numNodes) || !isNode(tree.nextSibling[node], numNodes)) {
+					throw new IOException("BK-tree corrupto");
+				}
+			}
+			return tree;
+		} catch (EOFException e) {
+			throw new IOException("BK-tree truncado");
+		} finally {
+			data.close();
+		}
+	}
+
+	private static boolean isNode(int node, int numNodes) {
+		return node == NONE || (node > 0 && node < numNodes);
+	}
+
+	/**
+	 * Guarda el árbol en un archivo.
+	 *
+	 * @param filename archivo destino
+	 * @throws IOException Error escribiendo
+	 */
+	public void save(String filename) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)));
+		try {
+			data.writeInt(MAGIC);
+			data.writeInt(VERSION);
+			data.writeInt(numNodes);
+			for (int node = 0; node < numNodes; node++) {
+				data.writeUTF(word(node));
+				data.writeInt(distances[node]);
+				data.writeInt(firstChild[node]);
+				data.writeInt(nextSibling[node]);
+			}
+		} finally {
+			data.close();
+		}
+	}
+
+	/**
+	 * @return cantidad de palabras en el árbol
+	 */
+	public int getNumNodes() {
+		return numNodes;
+	}
+
+	/**
+	 * @return distancia máxima usada por getCorrections(String)
+	 */
+	public int getMaxDistance() {
+		return maxDistance;
+	}
+
+	private String word(int node) {
+		return new String(data, offsets[node], offsets[node + 1] - offsets[node]);
+	}
+
+	private void insert(String word) {
+		if (numNodes == 0) {
+			newNode(word, 0);
+			return;
+		}
+		int node = 0;
+		while (true) {
+			int distance = EditDistance.levenshtein(word, word(node));
+			if (distance == 0) {
+				return;
+			}
+			//Se busca el hijo a esa distancia manteniendo los hermanos ordenados
+			int previous = NONE;
+			int child = firstChild[node];
+			while (child != NONE && distances[child] < distance) {
+				previous = child;
+				child = nextSibling[child];
+			}
+			if (child == NONE || distances[child] != distance) {
+				int created = newNode(word, distance);
+				nextSibling[created] = child;
+				if (previous == NONE) {
+					firstChild[node] = created;
+				} else {
+					nextSibling[previous] = created;
+				}
+				return;
+			}
+			node = child;
+		}
+	}
+
+	/**
+	 * Renumera los nodos en pre-orden, para que cada subárbol quede contiguo en
+	 * los arreglos y una búsqueda recorra memoria mayormente secuencial.
+	 */
+	private void reorder() {
+		int[] order = new int[numNodes]; // Nuevo número -> número actual
+		int[] stack = new int[64];
+		int top = 0;
+		int count = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			order[count++] = node;
+			int children = 0;
+			for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+				children++;
+			}
+			if (top + children > stack.length) {
+				stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children));
+			}
+			//Se apilan al revés para visitar primero al de menor distancia
+			int position = top + children;
+			for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+				stack[--position] = child;
+			}
+			top += children;
+		}
+
+		int[] renumber = new int[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			renumber[order[i]] = i;
+		}
+		char[] newData = new char[numChars];
+		int[] newOffsets = new int[numNodes + 1];
+		int[] newDistances = new int[numNodes];
+		int[] newFirstChild = new int[numNodes];
+		int[] newNextSibling = new int[numNodes];
+		for (int i = 0; i < numNodes; i++) {
+			int node = order[i];
+			int length = offsets[node + 1] - offsets[node];
+			System.arraycopy(data, offsets[node], newData, newOffsets[i], length);
+			newOffsets[i + 1] = newOffsets[i] + length;
+			newDistances[i] = distances[node];
+			newFirstChild[i] = firstChild[node] == NONE ? NONE : renumber[firstChild[node]];
+			newNextSibling[i] = nextSibling[node] == NONE ? NONE : renumber[nextSibling[node]];
+		}
+		data = newData;
+		offsets = newOffsets;
+		distances = newDistances;
+		firstChild = newFirstChild;
+		nextSibling = newNextSibling;
+	}
+
+	private int newNode(String word, int distance) {
+		if (numNodes == distances.length) {
+			int capacity = distances.length * 2;
+			offsets = Arrays.copyOf(offsets, capacity + 1);
+			distances = Arrays.copyOf(distances, capacity);
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+		}
+		if (numChars + word.length() > data.length) {
+			data = Arrays.copyOf(data, Math.max(data.length * 2, numChars + word.length()));
+		}
+		word.getChars(0, word.length(), data, numChars);
+		numChars += word.length();
+		maxLength = Math.max(maxLength, word.length());
+		int node = numNodes++;
+		offsets[node + 1] = numChars;
+		distances[node] = distance;
+		firstChild[node] = NONE;
+		nextSibling[node] = NONE;
+		return node;
+	}
+
+	/**
+	 * Retorna las palabras a distancia entre 1 y la distancia máxima del corrector.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return retorna un conjunto (potencialmente vacío) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es una palabra válida
+	 */
+	public Set<String> getCorrections(String wrong) {
+		return getCorrections(wrong, maxDistance);
+	}
+
+	/**
+	 * Retorna las palabras a distancia entre 1 y distance. Si la palabra está
+	 * en el árbol no se sugiere nada.
+	 *
+	 * @param wrong
+	 * @param distance umbral, al menos 1
+	 * @return retorna un conjunto (potencialmente vacío) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es una palabra válida o la distancia es menor a 1
+	 */
+	public Set<String> getCorrections(String wrong, int distance) {
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+		if (distance < 1) {
+			throw new IllegalArgumentException("la distancia debe ser al menos 1");
+		}
+		TreeSet<String> correctionSet = new TreeSet<>();
+		if (!search(wrong, distance, correctionSet, null)) {
+			return new TreeSet<>(); // La palabra es correcta
+		}
+		return matchCase(wrong, correctionSet);
+	}
+
+	/**
+	 * El costo de cada sugerencia es su distancia, hasta la distancia máxima
+	 * del corrector. Una vez que hay k sugerencias, el umbral de la búsqueda
+	 * baja a la distancia de la peor.
+	 * <p>
+	 * Ver superclase.
+	 */
+	@Override
+	public List<Suggestion> getSuggestions(String wrong, int k) {
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+		SuggestionHeap heap = new SuggestionHeap(k);
+		if (!search(wrong, maxDistance, null, heap)) {
+			return new SuggestionHeap(k).toList();
+		}
+		SuggestionHeap matched = new SuggestionHeap(k);
+		for (Suggestion suggestion : heap.toList()) {
+			matched.offer(suggestion.withWord(matchCase(wrong, suggestion.getWord())));
+		}
+		return matched.toList();
+	}
+
+	/**
+	 * Recorre el árbol agregando cada palabra a distancia entre 1 y distance a
+	 * found o, si es null, ofreciéndola a heap.
+	 *
+	 * @return false si la palabra está en el árbol
+	 */
+	private boolean search(String wrong, int distance, Set<String> found, SuggestionHeap heap) {
+		if (numNodes == 0) {
+			return true;
+		}
+		char[] lower = CaseFolding.fold(wrong).toCharArray();
+		int[] previous = new int[maxLength + 1];
+		int[] row = new int[maxLength + 1];
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int node = stack[--top];
+			int threshold = heap != null && heap.isFull() ? Math.min(distance, heap.worst().getCost()) : distance;
+			// Más allá de la mayor distancia a un hijo + threshold no hace falta el valor exacto
+			int limit = 0;
+			for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+				limit = Math.max(limit, distances[child]);
+			}
+			limit += threshold;
+			int d = EditDistance.lowerCaseLevenshtein(lower, data, offsets[node],
+					offsets[node + 1] - offsets[node], limit, previous, row);
+			if (d > limit) {
+				continue;
+			}
+			if (d == 0) {
+				return false;
+			}
+			if (d <= threshold) {
+				if (found != null) {
+					found.add(word(node));
+				} else if (heap.accepts(d, 0)) {
+					heap.offer(new Suggestion(word(node), d, 0, "BKTreeCorrector"));
+				}
+			}
+			for (int child = firstChild[node]; child != NONE && distances[child] <= d + threshold; child = nextSibling[child]) {
+				if (distances[child] >= d - threshold) {
+					if (top == stack.length) {
+						stack = Arrays.copyOf(stack, stack.length * 2);
+					}
+					stack[top++] = child;
+				}
+			}
+		}
+		return true;
+	}
+}
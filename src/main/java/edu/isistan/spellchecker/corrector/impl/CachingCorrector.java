@@ -0,0 +1,207 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.isistan.spellchecker.corrector.CaseFolding;
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Suggestion;
+
+/**
+ * Decorador que guarda las correcciones de otro Corrector en un cache LRU
+ * acotado.
+ * <p>
+ * Los documentos repiten los mismos errores ("teh", "recieve", ...), así que
+ * las correcciones se indexan por la palabra plegada a minúsculas (ver
+ * {@link CaseFolding}) y en cada acierto se vuelve a aplicar matchCase con la
+ * capitalización de la consulta. El cache es seguro para usar desde varios
+ * hilos: el mapa se accede bajo un lock, pero el corrector decorado se
+ * invoca fuera de él, así que dos hilos que fallan con la misma palabra
+ * pueden calcularla ambos.
+ * <p>
+ * Las sugerencias de {@link #getSuggestions(String, int)} se guardan en otro
+ * cache de la misma capacidad, con el costo y la frecuencia que les dio el
+ * corrector decorado, así que el cache no cambia su orden.
+ * <p>
+ * Cuenta aciertos, fallos y desalojos.
+ */
+public class CachingCorrector extends Corrector {
+
+	private final Corrector corrector;
+	private final int capacity;
+	private final LinkedHashMap<String, Set<String>> cache; // También es el lock de ambos caches
+	private final LinkedHashMap<String, Ranked> ranked;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param corrector corrector a decorar
+	 * @param capacity cantidad máxima de palabras en el cache, al menos 1
+	 * @throws IllegalArgumentException si el corrector es null o la capacidad es menor a 1
+	 */
+	public CachingCorrector(Corrector corrector, int capacity) {
+		if (corrector == null) {
+			throw new IllegalArgumentException();
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("la capacidad debe ser al menos 1");
+		}
+		this.corrector = corrector;
+		this.capacity = capacity;
+		this.cache = newCache();
+		this.ranked = newCache();
+	}
+
+	// Las k mejores sugerencias de una palabra
+	private static final class Ranked {
+		final int k;
+		final List<Suggestion> suggestions;
+
+		Ranked(int k, List<Suggestion> suggestions) {
+			this.k = k;
+			this.suggestions = suggestions;
+		}
+
+		// Las primeras k de las k' >= k mejores son las k mejores; si hubo menos de k', son todas
+		boolean answers(int k) {
+			return k <= this.k || suggestions.size() < this.k;
+		}
+	}
+
+	// En orden de acceso: la primer entrada es la usada hace más tiempo
+	private <V> LinkedHashMap<String, V> newCache() {
+		return new LinkedHashMap<String, V>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				if (size() > capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Retorna las correcciones del corrector decorado, calculándolas solo si
+	 * la palabra (sin distinguir mayúsculas) no está en el cache.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return retorna un conjunto (potencialmente vacío) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es una palabra válida
+	 */
+	public Set<String> getCorrections(String wrong) {
+		if (wrong == null || wrong.isEmpty()) {
+			throw new IllegalArgumentException();
+		}
+		String key = CaseFolding.fold(wrong);
+		Set<String> corrections;
+		synchronized (cache) {
+			corrections = cache.get(key);
+			if (corrections != null) {
+				hits++;
+			} else {
+				misses++;
+			}
+		}
+		if (corrections == null) {
+			corrections = Collections.unmodifiableSet(corrector.getCorrections(key));
+			synchronized (cache) {
+				cache.put(key, corrections);
+			}
+		}
+		return matchCase(wrong, corrections);
+	}
+
+	/**
+	 * Retorna las sugerencias del corrector decorado, calculándolas solo si
+	 * la palabra (sin distinguir mayúsculas) no está en el cache con al menos
+	 * k sugerencias pedidas.
+	 * <p>
+	 * Ver superclase.
+	 */
+	@Override
+	public List<Suggestion> getSuggestions(String wrong, int k) {
+		if (wrong == null || wrong.isEmpty() || k < 1) {
+			throw new IllegalArgumentException();
+		}
+		String key = CaseFolding.fold(wrong);
+		Ranked entry;
+		synchronized (cache) {
+			entry = ranked.get(key);
+			if (entry != null && entry.answers(k)) {
+				hits++;
+			} else {
+				entry = null;
+				misses++;
+			}
+		}
+		if (entry == null) {
+			entry = new Ranked(k, Collections.unmodifiableList(corrector.getSuggestions(key, k)));
+			synchronized (cache) {
+				ranked.put(key, entry);
+			}
+		}
+		int n = Math.min(k, entry.suggestions.size());
+		List<Suggestion> suggestions = new ArrayList<Suggestion>(n);
+		for (int i = 0; i < n; i++) {
+			Suggestion suggestion = entry.suggestions.get(i);
+			suggestions.add(suggestion.withWord(matchCase(wrong, suggestion.getWord())));
+		}
+		return suggestions;
+	}
+
+	/**
+	 * @return cantidad de consultas respondidas desde el cache
+	 */
+	public long getHits() {
+		synchronized (cache) {
+			return hits;
+		}
+	}
+
+	/**
+	 * @return cantidad de consultas que invocaron al corrector decorado
+	 */
+	public long getMisses() {
+		synchronized (cache) {
+			return misses;
+		}
+	}
+
+	/**
+	 * @return cantidad de palabras desalojadas por falta de lugar
+	 */
+	public long getEvictions() {
+		synchronized (cache) {
+			return evictions;
+		}
+	}
+
+	/**
+	 * @return proporción de consultas respondidas desde el cache, entre 0 y 1
+	 */
+	public double getHitRate() {
+		synchronized (cache) {
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+
+	/**
+	 * @return cantidad de palabras en el cache, contando las correcciones y
+	 * las sugerencias por separado
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size() + ranked.size();
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.SuggestionHeap;
+
+/**
+ * Corrector compuesto por una cadena ordenada de correctores, típicamente del
+ * más barato al más caro: por ejemplo un FileCorrector (una búsqueda en un
+ * mapa), luego SwapCorrector y por último Levenshtein.
+ * <p>
+ * En modo secuencial se consultan las etapas en orden acumulando sus
+ * sugerencias, y se corta apenas se juntan minSuggestions: las etapas caras
+ * solo se ejecutan para las palabras que las baratas no resuelven.
+ * <p>
+ * En modo paralelo todas las etapas se envían juntas a un ExecutorService y
+ * se devuelve la unión de sus sugerencias; conviene cuando importa la
+ * latencia de cada palabra más que el trabajo total.
+ */
+public class ChainedCorrector extends Corrector {
+
+	private final List<Corrector> stages;
+	private final int minSuggestions;
+	private final ExecutorService executor; // null en modo secuencial
+
+	/**
+	 * Construye una cadena secuencial.
+	 *
+	 * @param stages correctores en el orden en que se consultan
+	 * @param minSuggestions cantidad de sugerencias a partir de la cual no se consultan más etapas, al menos 1
+	 * @throws IllegalArgumentException si no hay etapas, alguna es null o minSuggestions es menor a 1
+	 */
+	public ChainedCorrector(List<Corrector> stages, int minSuggestions) {
+		this(stages, minSuggestions, null);
+	}
+
+	/**
+	 * Construye una cadena que ejecuta todas las etapas en paralelo y une sus
+	 * sugerencias. El executor no se cierra: su ciclo de vida es del llamador.
+	 *
+	 * @param stages correctores a consultar
+	 * @param executor donde se ejecutan las etapas
+	 * @throws IllegalArgumentException si no hay etapas, alguna es null o el executor es null
+	 */
+	public ChainedCorrector(List<Corrector> stages, ExecutorService executor) {
+		this(stages, Integer.MAX_VALUE, executor);
+		if (executor == null) {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	private ChainedCorrector(List<Corrector> stages, int minSuggestions, ExecutorService executor) {
+		if (stages == null || stages.isEmpty() || stages.contains(null)) {
+			throw new IllegalArgumentException();
+		}
+		if (minSuggestions < 1) {
+			throw new IllegalArgumentException("minSuggestions debe ser al menos 1");
+		}
+		this.stages = new ArrayList<Corrector>(stages);
+		this.minSuggestions = minSuggestions;
+		this.executor = executor;
+	}
+
+	/**
+	 * @return cantidad de etapas
+	 */
+	public int getNumStages() {
+		return stages.size();
+	}
+
+	/**
+	 * Retorna las sugerencias de las etapas consultadas.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return retorna un conjunto (potencialmente vacío) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es una palabra válida
+	 */
+	public Set<String> getCorrections(String wrong) {
+		if (executor != null) {
+			return getCorrectionsInParallel(wrong);
+		}
+		TreeSet<String> correctionSet = new TreeSet<>();
+		for (Corrector stage : stages) {
+			correctionSet.addAll(stage.getCorrections(wrong));
+			if (correctionSet.size() >= minSuggestions) {
+				break;
+			}
+		}
+		return correctionSet;
+	}
+
+	/**
+	 * Une las k mejores sugerencias de cada etapa consultada, conservando la
+	 * mejor de cada palabra. En modo secuencial corta apenas se juntan
+	 * minSuggestions (o k) palabras distintas.
+	 * <p>
+	 * Ver superclase.
+	 */
+	@Override
+	public List<Suggestion> getSuggestions(final String wrong, final int k) {
+		SuggestionHeap heap = new SuggestionHeap(k);
+		if (executor != null) {
+			for (List<Suggestion> suggestions : inParallel(new Stage<List<Suggestion>>() {
+				public List<Suggestion> apply(Corrector stage) {
+					return stage.getSuggestions(wrong, k);
+				}
+			})) {
+				for (Suggestion suggestion : suggestions) {
+					heap.offer(suggestion);
+				}
+			}
+			return heap.toList();
+		}
+		for (Corrector stage : stages) {
+			for (Suggestion suggestion : stage.getSuggestions(wrong, k)) {
+				heap.offer(suggestion);
+			}
+			if (heap.size() >= Math.min(minSuggestions, k)) {
+				break;
+			}
+		}
+		return heap.toList();
+	}
+
+	private Set<String> getCorrectionsInParallel(final String wrong) {
+		TreeSet<String> correctionSet = new TreeSet<>();
+		for (Set<String> corrections : inParallel(new Stage<Set<String>>() {
+			public Set<String> apply(Corrector stage) {
+				return stage.getCorrections(wrong);
+			}
+		})) {
+			correctionSet.addAll(corrections);
+		}
+		return correctionSet;
+	}
+
+	// Consulta a una etapa
+	private interface Stage<T> {
+		T apply(Corrector stage);
+	}
+
+	/**
+	 * Ejecuta la consulta sobre todas las etapas en el executor.
+	 *
+	 * @return los resultados, en el orden de las etapas
+	 */
+	private <T> List<T> inParallel(final Stage<T> query) {
+		List<Future<T>> futures = new ArrayList<Future<T>>(stages.size());
+		for (final Corrector stage : stages) {
+			futures.add(executor.submit(new Callable<T>() {
+				public T call() {
+					return query.apply(stage);
+				}
+			}));
+		}
+		List<T> results = new ArrayList<T>(stages.size());
+		try {
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (ExecutionException e) {
+			cancel(futures);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			cancel(futures);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		return results;
+	}
+
+	private static void cancel(List<? extends Future<?>> futures) {
+		for (Future<?> future : futures) {
+			future.cancel(true);
+		}
+	}
+}
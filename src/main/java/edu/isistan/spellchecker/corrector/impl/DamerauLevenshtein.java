@@ -0,0 +1,171 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.SuggestionHeap;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Corrector que sugiere las palabras a distancia de Damerau-Levenshtein uno:
+ * intercambiar dos letras adyacentes, insertar, borrar o cambiar una letra.
+ * <p>
+ * Sugiere lo mismo que la unión de {@link SwapCorrector} y {@link Levenshtein},
+ * pero con una sola verificación de la palabra, un solo conjunto de
+ * resultados y una sola pasada de matchCase. Todos los candidatos se generan
+ * en un único buffer reutilizado y se descartan antes de consultar el
+ * diccionario los que repetirían otro candidato:
+ * <ul>
+ * <li> borrar una letra igual a la anterior (ya se borró la anterior)
+ * <li> insertar una letra igual a la anterior (ya se insertó antes de ella)
+ * <li> cambiar una letra por sí misma
+ * <li> intercambiar dos letras iguales
+ * </ul>
+ * Así cada palabra candidata se consulta una única vez.
+ * <p>
+ * Como en Levenshtein, las letras que se insertan o cambian son a-z.
+ */
+public class DamerauLevenshtein extends Corrector {
+
+	private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+	private Lexicon dict;
+
+	/**
+	 * Construye el corrector usando un Dictionary.
+	 *
+	 * @param dict
+	 * @throws IllegalArgumentException si el diccionario provisto es null
+	 */
+	public DamerauLevenshtein(Lexicon dict) {
+		super(dict);
+		if (dict == null) {
+			throw new IllegalArgumentException();
+		}
+		this.dict = dict;
+	}
+
+	/**
+	 * Retorna las palabras a distancia de Damerau-Levenshtein uno.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return retorna un conjunto (potencialmente vacío) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es una palabra válida
+	 */
+	public Set<String> getCorrections(String wrong) {
+		TreeSet<String> correctionSet = new TreeSet<>();
+
+		if (dict.isWord(wrong)) {
+			return correctionSet;
+		}
+
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+
+		this.generate(wrong, correctionSet, null);
+		return matchCase(wrong, correctionSet);
+	}
+
+	/**
+	 * Todas las sugerencias tienen costo 1; si el diccionario es un
+	 * FrequencyDictionary se ordenan por frecuencia.
+	 * <p>
+	 * Ver superclase.
+	 */
+	@Override
+	public List<Suggestion> getSuggestions(String wrong, int k) {
+		SuggestionHeap heap = new SuggestionHeap(k);
+		if (dict.isWord(wrong)) {
+			return heap.toList();
+		}
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+		this.generate(wrong, null, heap);
+		SuggestionHeap matched = new SuggestionHeap(k);
+		for (Suggestion suggestion : heap.toList()) {
+			matched.offer(suggestion.withWord(matchCase(wrong, suggestion.getWord())));
+		}
+		return matched.toList();
+	}
+
+	/**
+	 * Genera todos los candidatos, agregando las palabras encontradas a found
+	 * o, si es null, ofreciéndolas a heap.
+	 */
+	private void generate(String wrong, Set<String> found, SuggestionHeap heap) {
+		int n = wrong.length();
+		char[] s = new char[n];
+		for (int i = 0; i < n; i++) {
+			s[i] = Character.toLowerCase(wrong.charAt(i));
+		}
+		char[] buffer = new char[n + 1];
+		CharBuffer candidate = CharBuffer.wrap(buffer);
+
+		//Intercambios y cambios sobre una copia de la palabra
+		System.arraycopy(s, 0, buffer, 0, n);
+		for (int i = 0; i < n; i++) {
+			char original = s[i];
+			if (i + 1 < n && original != s[i + 1]) {
+				buffer[i] = s[i + 1];
+				buffer[i + 1] = original;
+				probe(candidate, n, found, heap);
+				buffer[i + 1] = s[i + 1];
+			}
+			for (char c : ALPHABET) {
+				if (c != original) {
+					buffer[i] = c;
+					probe(candidate, n, found, heap);
+				}
+			}
+			buffer[i] = original;
+		}
+
+		//Borrados: el buffer arranca sin la primer letra y se devuelve la letra i-1 a su lugar
+		System.arraycopy(s, 1, buffer, 0, n - 1);
+		for (int i = 0; i < n; i++) {
+			if (i > 0) {
+				buffer[i - 1] = s[i - 1];
+				if (s[i] == s[i - 1]) {
+					continue;
+				}
+			}
+			probe(candidate, n - 1, found, heap);
+		}
+
+		//Inserciones: el buffer tiene un hueco en la posición i que se corre un lugar por vez
+		System.arraycopy(s, 0, buffer, 1, n);
+		for (int i = 0; i <= n; i++) {
+			if (i > 0) {
+				buffer[i - 1] = s[i - 1];
+			}
+			for (char c : ALPHABET) {
+				if (i == 0 || c != s[i - 1]) {
+					buffer[i] = c;
+					probe(candidate, n + 1, found, heap);
+				}
+			}
+		}
+	}
+
+	private void probe(CharBuffer candidate, int length, Set<String> found, SuggestionHeap heap) {
+		if (dict.isWord(candidate, 0, length)) {
+			if (found != null) {
+				found.add(new String(candidate.array(), 0, length));
+			} else {
+				int frequency = dict.getFrequency(candidate, 0, length);
+				if (heap.accepts(1, frequency)) {
+					heap.offer(new Suggestion(new String(candidate.array(), 0, length), 1, frequency, "DamerauLevenshtein"));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+/**
+ * Cálculo de la distancia de Levenshtein (inserción, borrado y cambio de una
+ * letra) sin distinguir mayúsculas, acotada a una distancia máxima.
+ */
+final class EditDistance {
+
+	private EditDistance() {
+	}
+
+	/**
+	 * Calcula la distancia exacta entre a y b.
+	 *
+	 * @param a primer palabra
+	 * @param b segunda palabra
+	 * @return la distancia
+	 */
+	static int levenshtein(CharSequence a, CharSequence b) {
+		return levenshtein(a, b, Math.max(a.length(), b.length()));
+	}
+
+	/**
+	 * Igual que levenshtein(a, b, max) para palabras ya en minúscula guardadas
+	 * en arreglos, usando filas provistas por el llamador para no crear objetos.
+	 *
+	 * @param a primer palabra, en minúscula
+	 * @param data arreglo que contiene la segunda palabra, en minúscula
+	 * @param offset inicio de la segunda palabra en data
+	 * @param m largo de la segunda palabra
+	 * @param max distancia máxima de interés
+	 * @param previous fila auxiliar de al menos m + 1 posiciones
+	 * @param row fila auxiliar de al menos m + 1 posiciones
+	 * @return la distancia, o max + 1 si es mayor a max
+	 */
+	static int lowerCaseLevenshtein(char[] a, char[] data, int offset, int m, int max, int[] previous, int[] row) {
+		int n = a.length;
+		if (Math.abs(n - m) > max) {
+			return max + 1;
+		}
+		for (int j = 0; j <= m; j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= n; i++) {
+			row[0] = i;
+			int rowMin = i;
+			char c = a[i - 1];
+			for (int j = 1; j <= m; j++) {
+				int value = previous[j - 1] + (c == data[offset + j - 1] ? 0 : 1);
+				value = Math.min(value, previous[j] + 1);
+				value = Math.min(value, row[j - 1] + 1);
+				row[j] = value;
+				rowMin = Math.min(rowMin, value);
+			}
+			if (rowMin > max) {
+				return max + 1;
+			}
+			int[] swap = previous;
+			previous = row;
+			row = swap;
+		}
+		return Math.min(previous[m], max + 1);
+	}
+
+	/**
+	 * Calcula la distancia entre a y b, cortando apenas se sabe que supera max.
+	 *
+	 * @param a primer palabra
+	 * @param b segunda palabra
+	 * @param max distancia máxima de interés
+	 * @return la distancia, o max + 1 si es mayor a max
+	 */
+	static int levenshtein(CharSequence a, CharSequence b, int max) {
+		int n = a.length();
+		int m = b.length();
+		if (Math.abs(n - m) > max) {
+			return max + 1;
+		}
+		int[] previous = new int[m + 1];
+		int[] row = new int[m + 1];
+		for (int j = 0; j <= m; j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= n; i++) {
+			row[0] = i;
+			int rowMin = row[0];
+			char c = Character.toLowerCase(a.charAt(i - 1));
+			for (int j = 1; j <= m; j++) {
+				int cost = c == Character.toLowerCase(b.charAt(j - 1)) ? 0 : 1;
+				row[j] = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+				rowMin = Math.min(rowMin, row[j]);
+			}
+			if (rowMin > max) {
+				return max + 1;
+			}
+			int[] swap = previous;
+			previous = row;
+			row = swap;
+		}
+		return Math.min(previous[m], max + 1);
+	}
+}
@@ -6,6 +6,7 @@ import edu.isistan.spellchecker.corrector.Corrector;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Corrector basado en un archivo.
@@ -107,7 +108,7 @@ public class FileCorrector extends Corrector {
 		}
 	}
 
-	/** Construye el Filereader.
+	/** Construye el Filereader a partir de un archivo en UTF-8.
 	 *
 	 * @param filename 
 	 * @throws IOException 
@@ -115,7 +116,7 @@ public class FileCorrector extends Corrector {
 	 * @throws FileNotFoundException 
 	 */
 	public static FileCorrector make(String filename) throws IOException, FormatException {
-		Reader r = new FileReader(filename);
+		Reader r = new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8);
 		FileCorrector fc;
 		try {
 			fc = new FileCorrector(r);
@@ -1,11 +1,17 @@
 package edu.isistan.spellchecker.corrector.impl;
+import java.nio.CharBuffer;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+import edu.isistan.spellchecker.corrector.CaseFolding;
 import edu.isistan.spellchecker.corrector.Corrector;
-import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.SuggestionHeap;
+import edu.isistan.spellchecker.corrector.TrieLexicon;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 /**
@@ -24,11 +30,23 @@ import edu.isistan.spellchecker.tokenizer.TokenScanner;
  * Intercambiar letras (thsi -> this) <it>no</it> cuenta como una edici�n.
  * <p>
  * Este corrector sugiere palabras que esten a edit distance uno.
+ * <p>
+ * Si se construye con un {@link TrieLexicon} y una distancia máxima, en lugar
+ * de generar y probar todos los candidatos recorre el Trie (o DAWG) en
+ * profundidad manteniendo una fila de la matriz de programación dinámica de
+ * Levenshtein por nivel, y poda las ramas cuyo mínimo de fila supera la
+ * distancia. Solo se exploran caminos del diccionario, por lo que el costo
+ * no depende del tamaño del alfabeto y la distancia 2 es viable. En este modo
+ * una "letra" es cualquier caracter del diccionario, apostrofes incluidos.
  */
 
 public class Levenshtein extends Corrector {
 
-	private Dictionary dict;
+	private Lexicon dict;
+
+	private TrieLexicon trie; // Solo en el modo guiado por el Trie
+
+	private int maxDistance = 1;
 
 	/**
 	 * Construye un Levenshtein Corrector usando un Dictionary.
@@ -36,7 +54,8 @@ public class Levenshtein extends Corrector {
 	 *
 	 * @param dict
 	 */
-	public Levenshtein(Dictionary dict) {
+	public Levenshtein(Lexicon dict) {
+		super(dict);
 		//throw new UnsupportedOperationException(); // STUB
 		if(dict == null){
 			throw new IllegalArgumentException();
@@ -45,18 +64,43 @@ public class Levenshtein extends Corrector {
 		}
 	}
 
+	/**
+	 * Construye un Levenshtein Corrector que busca recorriendo el Trie del
+	 * diccionario, sugiriendo palabras a edit distance entre 1 y maxDistance.
+	 *
+	 * @param trie diccionario recorrible (TrieDictionary o DawgDictionary)
+	 * @param maxDistance distancia máxima, al menos 1
+	 * @throws IllegalArgumentException si el diccionario es null o la distancia es menor a 1
+	 */
+	public Levenshtein(TrieLexicon trie, int maxDistance) {
+		this(trie);
+		if (maxDistance < 1) {
+			throw new IllegalArgumentException("la distancia debe ser al menos 1");
+		}
+		this.trie = trie;
+		this.maxDistance = maxDistance;
+	}
+
 	/**
 	 * @param s palabra
 	 * @return todas las palabras a erase distance uno
 	 */
 	Set<String> getDeletions(String s) {
 		TreeSet<String> correctionSet = new TreeSet<>();
-		String resultadoBorrado;
+		if (s.isEmpty()) {
+			return correctionSet;
+		}
+		// El buffer arranca con s sin su primer letra; para borrar la letra i
+		// alcanza con devolver la letra i-1 a su lugar.
+		char[] buffer = new char[s.length() - 1];
+		s.getChars(1, s.length(), buffer, 0);
+		CharBuffer candidate = CharBuffer.wrap(buffer);
 		for(int i =0; i<s.length(); i++) {
-			resultadoBorrado = this.deleteChar(s,i);
-
-			if(dict.isWord(resultadoBorrado.trim().toLowerCase())) {
-				correctionSet.add(resultadoBorrado);
+			if (i > 0) {
+				buffer[i - 1] = s.charAt(i - 1);
+			}
+			if(dict.isWord(candidate, 0, buffer.length)) {
+				correctionSet.add(new String(buffer));
 			}
 		}
 		return correctionSet;
@@ -68,18 +112,22 @@ public class Levenshtein extends Corrector {
 	 */
 	public Set<String> getSubstitutions(String s) {
 		TreeSet<String> correctionSet = new TreeSet<>();
-		String resultadoSustituido;
 		char[] alphabet = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+		char[] buffer = s.toCharArray();
+		CharBuffer candidate = CharBuffer.wrap(buffer);
 
 		for(int i =0; i<s.length(); i++) {
-			for(int c =0; c<alphabet.length-1; c++) {
-				resultadoSustituido = this.changeChar(s,alphabet[c], i);
-				if (dict.isWord(resultadoSustituido.trim().toLowerCase())) {
-					if(!resultadoSustituido.trim().toLowerCase().equals(s)){
-						correctionSet.add(resultadoSustituido);
-					}
+			char original = buffer[i];
+			for(int c =0; c<alphabet.length; c++) {
+				if (alphabet[c] == original) {
+					continue; // Sería la misma palabra
+				}
+				buffer[i] = alphabet[c];
+				if (dict.isWord(candidate, 0, buffer.length)) {
+					correctionSet.add(new String(buffer));
 				}
 			}
+			buffer[i] = original;
 		}
 		return correctionSet;
 	}
@@ -91,14 +139,21 @@ public class Levenshtein extends Corrector {
 	 */
 	public Set<String> getInsertions(String s) {
 		TreeSet<String> correctionSet = new TreeSet<>();
-		String resultadoBorrado;
 		char[] alphabet = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+		// El buffer tiene un hueco en la posición i; al avanzar, la letra i de s
+		// ocupa el hueco anterior y el hueco se corre un lugar.
+		char[] buffer = new char[s.length() + 1];
+		s.getChars(0, s.length(), buffer, 1);
+		CharBuffer candidate = CharBuffer.wrap(buffer);
 
 		for(int i =0; i<=s.length(); i++) {
-			for(int c =0; c<alphabet.length-1; c++) {
-				resultadoBorrado = this.addChar(s,alphabet[c], i);
-				if (dict.isWord(resultadoBorrado.trim().toLowerCase())) {
-					correctionSet.add(resultadoBorrado);
+			if (i > 0) {
+				buffer[i - 1] = s.charAt(i - 1);
+			}
+			for(int c =0; c<alphabet.length; c++) {
+				buffer[i] = alphabet[c];
+				if (dict.isWord(candidate, 0, buffer.length)) {
+					correctionSet.add(new String(buffer));
 				}
 			}
 		}
@@ -116,6 +171,9 @@ public class Levenshtein extends Corrector {
 		if (!TokenScanner.isWord(wrong)) {
 			throw new IllegalArgumentException();
 		}
+		if (trie != null) {
+			return matchCase(wrong, this.searchTrie(wrong));
+		}
 		correctionSet.addAll(this.getDeletions(wrong));
 		correctionSet.addAll(this.getInsertions(wrong));
 		correctionSet.addAll(this.getSubstitutions(wrong));
@@ -126,6 +184,94 @@ public class Levenshtein extends Corrector {
 		return correctionSet;
 	}
 
+	/**
+	 * En el modo guiado por el Trie el costo de cada sugerencia es su
+	 * distancia, y la búsqueda conserva solo las k mejores: una vez que tiene
+	 * k, poda las ramas que no pueden igualar a la peor.
+	 * <p>
+	 * Ver superclase.
+	 */
+	@Override
+	public List<Suggestion> getSuggestions(String wrong, int k) {
+		if (trie == null) {
+			return super.getSuggestions(wrong, k);
+		}
+		SuggestionHeap heap = new SuggestionHeap(k);
+		if (dict.isWord(wrong)) {
+			return heap.toList();
+		}
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+		this.searchTrie(wrong, null, heap);
+		SuggestionHeap matched = new SuggestionHeap(k);
+		for (Suggestion suggestion : heap.toList()) {
+			matched.offer(suggestion.withWord(matchCase(wrong, suggestion.getWord())));
+		}
+		return matched.toList();
+	}
+
+	/**
+	 * Busca en el Trie todas las palabras a distancia entre 1 y maxDistance.
+	 *
+	 * @param s palabra
+	 * @return las palabras encontradas, en minúscula
+	 */
+	Set<String> searchTrie(String s) {
+		TreeSet<String> correctionSet = new TreeSet<>();
+		this.searchTrie(s, correctionSet, null);
+		return correctionSet;
+	}
+
+	// Agrega cada palabra encontrada a found o, si es null, la ofrece a heap
+	private void searchTrie(String s, Set<String> found, SuggestionHeap heap) {
+		char[] query = CaseFolding.fold(s).toCharArray();
+		int maxDepth = query.length + maxDistance;
+		// rows[d] es la fila de la matriz para el prefijo de largo d del camino actual
+		int[][] rows = new int[maxDepth + 1][query.length + 1];
+		for (int j = 0; j <= query.length; j++) {
+			rows[0][j] = j;
+		}
+		char[] path = new char[maxDepth];
+		this.searchTrie(trie.root(), 0, query, rows, path, found, heap);
+	}
+
+	private void searchTrie(int state, int depth, char[] query, int[][] rows, char[] path,
+			Set<String> found, SuggestionHeap heap) {
+		if (depth == path.length) {
+			return;
+		}
+		// Con el heap lleno no sirve nada más lejano que su peor sugerencia
+		int limit = heap != null && heap.isFull() ? Math.min(maxDistance, heap.worst().getCost()) : maxDistance;
+		int[] previous = rows[depth];
+		int[] row = rows[depth + 1];
+		for (int e = trie.firstEdge(state); e != TrieLexicon.NONE; e = trie.nextEdge(e)) {
+			char c = trie.edgeLabel(e);
+			row[0] = depth + 1;
+			int rowMin = row[0];
+			for (int j = 1; j <= query.length; j++) {
+				int cost = query[j - 1] == c ? 0 : 1;
+				row[j] = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+				rowMin = Math.min(rowMin, row[j]);
+			}
+			path[depth] = c;
+			int target = trie.edgeTarget(e);
+			int distance = row[query.length];
+			if (distance > 0 && distance <= limit && trie.isFinal(target)) {
+				if (found != null) {
+					found.add(new String(path, 0, depth + 1));
+				} else if (heap.accepts(distance, 0)) {
+					heap.offer(new Suggestion(new String(path, 0, depth + 1), distance, 0, "Levenshtein"));
+					if (heap.isFull()) {
+						limit = Math.min(limit, heap.worst().getCost());
+					}
+				}
+			}
+			if (rowMin <= limit) {
+				this.searchTrie(target, depth + 1, query, rows, path, found, heap);
+			}
+		}
+	}
 
 
 	public String addChar(String str, char ch, int position) {
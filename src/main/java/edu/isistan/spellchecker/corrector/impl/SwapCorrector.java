@@ -1,10 +1,11 @@
 package edu.isistan.spellchecker.corrector.impl;
 
+import java.nio.CharBuffer;
 import java.util.Set;
 import java.util.TreeSet;
 
 import edu.isistan.spellchecker.corrector.Corrector;
-import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 /**
@@ -20,7 +21,7 @@ import edu.isistan.spellchecker.tokenizer.TokenScanner;
  */
 public class SwapCorrector extends Corrector {
 
-	private Dictionary dict;
+	private Lexicon dict;
 
 	/**
 	 * Construcye el SwapCorrector usando un Dictionary.
@@ -28,7 +29,8 @@ public class SwapCorrector extends Corrector {
 	 * @param dict 
 	 * @throws IllegalArgumentException si el diccionario provisto es null
 	 */
-	public SwapCorrector(Dictionary dict) {
+	public SwapCorrector(Lexicon dict) {
+		super(dict);
 		if(dict == null){
 			throw new IllegalArgumentException();
 		} else {
@@ -66,24 +68,22 @@ public class SwapCorrector extends Corrector {
 			throw new IllegalArgumentException();
 		}
 
-		//Primer swap
-		String primerSwap = wrong.substring(1, 2) + wrong.substring(0, 1) + wrong.substring(2, wrong.length());
-		if(dict.isWord(primerSwap.trim().toLowerCase())) {
-			correctionSet.add(primerSwap);
-		}
-
-		//Resto de swap -1
-		for(int i =0; i<wrong.length()-2; i++) {
-			String swapWord = wrong.substring(0, i) + wrong.substring(i+1, i+2) + wrong.substring(i, i+1) + wrong.substring(i+2, wrong.length());
-			if(dict.isWord(swapWord.trim().toLowerCase())) {
-				correctionSet.add(swapWord);
+		//Se intercambian las letras i e i+1 en un mismo buffer y se vuelven a su lugar
+		char[] buffer = wrong.toCharArray();
+		CharBuffer candidate = CharBuffer.wrap(buffer);
+		for(int i =0; i<buffer.length-1; i++) {
+			char a = buffer[i];
+			char b = buffer[i+1];
+			if (a == b) {
+				continue; // El swap daría la misma palabra
 			}
-		}
-
-		//Ultimo swap
-		String ultimoSwap = wrong.substring(0, wrong.length()-2) + wrong.substring(wrong.length()-1, wrong.length()) + wrong.substring(wrong.length()-2, wrong.length()-1);
-		if(dict.isWord(ultimoSwap.trim().toLowerCase())) {
-			correctionSet.add(ultimoSwap);
+			buffer[i] = b;
+			buffer[i+1] = a;
+			if(dict.isWord(candidate, 0, buffer.length)) {
+				correctionSet.add(new String(buffer));
+			}
+			buffer[i] = a;
+			buffer[i+1] = b;
 		}
 
 		return matchCase(wrong, correctionSet);
@@ -0,0 +1,255 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import edu.isistan.spellchecker.corrector.CaseFolding;
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.SuggestionHeap;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+/**
+ * Corrector basado en un índice de borrados precalculado (algoritmo SymSpell).
+ * <p>
+ * Al construirse genera, para cada palabra del diccionario, todas las
+ * variantes que resultan de borrarle hasta maxDistance letras, y las indexa en
+ * una tabla hash de variante a ids de palabra. Para corregir solo se generan
+ * los borrados de la palabra mal escrita y se buscan en el índice: si dos
+ * palabras están a distancia k, ambas comparten algún borrado de a lo sumo k
+ * letras. Cada candidato se verifica luego con la distancia de Levenshtein.
+ * <p>
+ * Se cambia memoria en la carga por consultas de pocos microsegundos incluso a
+ * distancia 2. Sugiere las palabras a distancia entre 1 y maxDistance.
+ */
+public class SymSpellCorrector extends Corrector {
+
+	private final Lexicon dict;
+	private final int maxDistance;
+	private final String[] words; // Palabras del diccionario indexadas por id
+	private final Map<String, int[]> deletes; // Variante -> ids de las palabras que la generan
+	private final long buildNanos;
+
+	/**
+	 * Construye el índice de borrados a partir del diccionario.
+	 *
+	 * @param dict diccionario
+	 * @param maxDistance distancia máxima, al menos 1
+	 * @throws IllegalArgumentException si el diccionario es null o la distancia es menor a 1
+	 */
+	public SymSpellCorrector(Lexicon dict, int maxDistance) {
+		super(dict);
+		if (dict == null) {
+			throw new IllegalArgumentException();
+		}
+		if (maxDistance < 1) {
+			throw new IllegalArgumentException("la distancia debe ser al menos 1");
+		}
+		long start = System.nanoTime();
+		this.dict = dict;
+		this.maxDistance = maxDistance;
+		this.words = new String[dict.getNumWords()];
+
+		// Durante la construcción cada lista guarda su largo en la posición 0
+		HashMap<String, int[]> index = new HashMap<String, int[]>();
+		Set<String> variants = new HashSet<String>();
+		int id = 0;
+		for (String word : dict) {
+			words[id] = word;
+			variants.clear();
+			addDeletes(word, maxDistance, variants);
+			for (String variant : variants) {
+				int[] ids = index.get(variant);
+				if (ids == null) {
+					ids = new int[2];
+					index.put(variant, ids);
+				} else if (ids[0] + 1 == ids.length) {
+					ids = Arrays.copyOf(ids, ids.length * 2);
+					index.put(variant, ids);
+				}
+				ids[++ids[0]] = id;
+			}
+			id++;
+		}
+		for (Map.Entry<String, int[]> entry : index.entrySet()) {
+			int[] ids = entry.getValue();
+			entry.setValue(Arrays.copyOfRange(ids, 1, ids[0] + 1));
+		}
+		this.deletes = index;
+		this.buildNanos = System.nanoTime() - start;
+	}
+
+	/**
+	 * Agrega a variants la palabra y todos sus borrados de hasta distance letras.
+	 */
+	private static void addDeletes(String word, int distance, Set<String> variants) {
+		if (!variants.add(word) || distance == 0) {
+			return;
+		}
+		for (int i = 0; i < word.length(); i++) {
+			addDeletes(word.substring(0, i) + word.substring(i + 1), distance - 1, variants);
+		}
+	}
+
+	/**
+	 * @return cantidad de variantes distintas en el índice
+	 */
+	public int getIndexSize() {
+		return deletes.size();
+	}
+
+	/**
+	 * @return cantidad total de ids guardados en el índice
+	 */
+	public long getIndexEntries() {
+		long entries = 0;
+		for (int[] ids : deletes.values()) {
+			entries += ids.length;
+		}
+		return entries;
+	}
+
+	/**
+	 * @return tiempo que llevó construir el índice, en milisegundos
+	 */
+	public long getBuildMillis() {
+		return buildNanos / 1000000;
+	}
+
+	/**
+	 * Retorna las palabras del diccionario a distancia entre 1 y maxDistance.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return retorna un conjunto (potencialmente vacío) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es una palabra válida
+	 */
+	public Set<String> getCorrections(String wrong) {
+		TreeSet<String> correctionSet = new TreeSet<>();
+		if (dict.isWord(wrong)) {
+			return correctionSet;
+		}
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+		IdSet visited = new IdSet();
+		for (String variant : variants(CaseFolding.fold(wrong))) {
+			int[] ids = deletes.get(variant);
+			if (ids == null) {
+				continue;
+			}
+			for (int id : ids) {
+				if (visited.add(id)) {
+					int distance = EditDistance.levenshtein(wrong, words[id], maxDistance);
+					if (distance > 0 && distance <= maxDistance) {
+						correctionSet.add(words[id]);
+					}
+				}
+			}
+		}
+		return matchCase(wrong, correctionSet);
+	}
+
+	/**
+	 * El costo de cada sugerencia es su distancia. Los candidatos se ofrecen
+	 * al heap a medida que aparecen en el índice, sin juntarlos antes. Una vez
+	 * que hay k sugerencias, se verifican acotando la distancia a la de la
+	 * peor, y no se verifican los que ni siquiera a distancia 1 podrían
+	 * superarla (por ejemplo, por ser menos frecuentes en un
+	 * FrequencyDictionary).
+	 * <p>
+	 * Ver superclase.
+	 */
+	@Override
+	public List<Suggestion> getSuggestions(String wrong, int k) {
+		SuggestionHeap heap = new SuggestionHeap(k);
+		if (dict.isWord(wrong)) {
+			return heap.toList();
+		}
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException();
+		}
+		IdSet visited = new IdSet();
+		for (String variant : variants(CaseFolding.fold(wrong))) {
+			int[] ids = deletes.get(variant);
+			if (ids == null) {
+				continue;
+			}
+			for (int id : ids) {
+				if (!visited.add(id)) {
+					continue;
+				}
+				int frequency = dict.getFrequency(words[id], 0, words[id].length());
+				if (!heap.accepts(1, frequency)) {
+					continue;
+				}
+				int limit = heap.isFull() ? Math.min(maxDistance, heap.worst().getCost()) : maxDistance;
+				int distance = EditDistance.levenshtein(wrong, words[id], limit);
+				if (distance > 0 && distance <= limit && heap.accepts(distance, frequency)) {
+					heap.offer(new Suggestion(matchCase(wrong, words[id]), distance, frequency, "SymSpellCorrector"));
+				}
+			}
+		}
+		return heap.toList();
+	}
+
+	/**
+	 * @return lower y sus borrados de hasta maxDistance letras
+	 */
+	private Set<String> variants(String lower) {
+		Set<String> variants = new HashSet<String>();
+		addDeletes(lower, maxDistance, variants);
+		return variants;
+	}
+
+	/**
+	 * Conjunto de ids ya verificados, con direccionamiento abierto sobre un
+	 * int[] (los ids se guardan más uno, para que 0 sea un lugar libre).
+	 */
+	private static final class IdSet {
+		private int[] slots = new int[64];
+		private int size;
+
+		/**
+		 * @return true si el id no estaba
+		 */
+		boolean add(int id) {
+			if (2 * (size + 1) > slots.length) {
+				grow();
+			}
+			int mask = slots.length - 1;
+			int i = (id * 0x9E3779B9) >>> 16 & mask;
+			while (slots[i] != 0) {
+				if (slots[i] == id + 1) {
+					return false;
+				}
+				i = (i + 1) & mask;
+			}
+			slots[i] = id + 1;
+			size++;
+			return true;
+		}
+
+		private void grow() {
+			int[] old = slots;
+			slots = new int[old.length * 2];
+			int mask = slots.length - 1;
+			for (int stored : old) {
+				if (stored != 0) {
+					int i = ((stored - 1) * 0x9E3779B9) >>> 16 & mask;
+					while (slots[i] != 0) {
+						i = (i + 1) & mask;
+					}
+					slots[i] = stored;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package edu.isistan.spellchecker.tokenizer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reader que decodifica un archivo mapeado en memoria directamente en el
+ * arreglo del llamador, sin los buffers intermedios de FileReader y
+ * BufferedReader.
+ * <p>
+ * El archivo se mapea de a ventanas, así que puede ser más grande que 2 GB.
+ * Una ventana nueva empieza en el primer byte que la anterior no consumió,
+ * por lo que un caracter de varios bytes partido entre dos ventanas se
+ * decodifica entero.
+ * <p>
+ * Cada tramo de la ventana se copia a un arreglo antes de decodificarlo: los
+ * decoders del JDK solo tienen su camino rápido para ASCII (que ensancha las
+ * corridas de bytes menores a 0x80 con instrucciones vectoriales) sobre
+ * arreglos, y sobre un buffer mapeado decodifican byte por byte. Las
+ * secuencias mal formadas se reemplazan, como en InputStreamReader.
+ * <p>
+ * Si no se puede abrir el archivo o mapear una ventana, el archivo se
+ * cierra antes de propagar el error.
+ */
+class MappedFileReader extends Reader {
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private final CharsetDecoder decoder;
+
+    private ByteBuffer window;
+    private long windowStart;
+    private boolean lastWindow;
+    private boolean flushed;
+
+    private final byte[] bytes = new byte[8192]; // Tramo de la ventana que se está decodificando
+    private final ByteBuffer in = ByteBuffer.wrap(bytes);
+    private final int maxBytesPerChar;
+    private final char[] pair = new char[2];
+    private int pending = -1; // Segundo surrogate de un read de un solo caracter, o -1
+    private char[] array;   // Arreglo del último read, envuelto en out
+    private CharBuffer out;
+
+    MappedFileReader(File file, Charset charset, long windowSize) throws IOException {
+        if (file == null || charset == null || windowSize < 16) {
+            throw new IllegalArgumentException();
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            this.channel = raf.getChannel();
+            this.size = channel.size();
+            this.windowSize = windowSize;
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.maxBytesPerChar = charset.canEncode() ? (int) Math.ceil(charset.newEncoder().maxBytesPerChar()) : bytes.length;
+            this.window = ByteBuffer.allocate(0);
+            this.lastWindow = size == 0;
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        } catch (RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pending >= 0) {
+            cbuf[off] = (char) pending;
+            pending = -1;
+            return 1;
+        }
+        if (len == 1) {
+            // Un caracter fuera del BMP necesita lugar para los dos surrogates
+            int n = read(pair, 0, 2);
+            if (n < 0) {
+                return -1;
+            }
+            cbuf[off] = pair[0];
+            if (n == 2) {
+                pending = pair[1];
+            }
+            return 1;
+        }
+        while (true) {
+            int n = decode(cbuf, off, len);
+            if (n > 0) {
+                return n;
+            }
+            if (lastWindow) {
+                if (flushed) {
+                    return -1;
+                }
+            } else {
+                try {
+                    nextWindow();
+                } catch (IOException e) {
+                    // El primer read ocurre en el constructor de MappedTokenScanner, que no puede cerrarlo
+                    close();
+                    throw e;
+                } catch (RuntimeException e) {
+                    close();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copia a bytes el próximo tramo de la ventana y lo decodifica en cbuf.
+     * Los bytes que no se usaron vuelven a estar pendientes en la ventana.
+     *
+     * @return cantidad de caracteres escritos en cbuf
+     */
+    private int decode(char[] cbuf, int off, int len) {
+        int start = window.position();
+        // No se copian más bytes de los que pueden entrar en len caracteres
+        int n = (int) Math.min(window.remaining(), Math.min(bytes.length, (long) len * maxBytesPerChar));
+        window.get(bytes, 0, n);
+        if (cbuf != array) {
+            array = cbuf;
+            out = CharBuffer.wrap(cbuf);
+        }
+        out.clear();
+        out.position(off);
+        out.limit(off + len);
+        in.clear();
+        in.limit(n);
+        boolean endOfInput = lastWindow && !window.hasRemaining();
+        if (!flushed) {
+            decoder.decode(in, out, endOfInput);
+        }
+        window.position(start + in.position());
+        if (endOfInput && !in.hasRemaining() && !flushed && out.hasRemaining()) {
+            flushed = decoder.flush(out).isUnderflow();
+        }
+        return out.position() - off;
+    }
+
+    // Mapea la ventana que empieza en el primer byte no consumido
+    private void nextWindow() throws IOException {
+        long start = windowStart + window.position();
+        long length = Math.min(windowSize, size - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        windowStart = start;
+        lastWindow = start + length == size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
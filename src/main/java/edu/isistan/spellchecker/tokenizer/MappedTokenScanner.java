@@ -0,0 +1,70 @@
+package edu.isistan.spellchecker.tokenizer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TokenScanner sobre un archivo mapeado en memoria, para archivos grandes.
+ * <p>
+ * El archivo se decodifica con el charset indicado directamente en el buffer
+ * del TokenScanner, sin pasar por FileReader ni BufferedReader ni por el
+ * charset por defecto de la plataforma. En UTF-8, ISO-8859-1, US-ASCII,
+ * UTF-16BE y UTF-16LE se conoce además la posición en bytes de cada token.
+ * <p>
+ * Hay que cerrarlo para liberar el archivo.
+ */
+public class MappedTokenScanner extends TokenScanner implements Closeable {
+    private static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private final MappedFileReader in;
+
+    /**
+     * Crea un TokenScanner sobre un archivo.
+     *
+     * @param file archivo a recorrer
+     * @param charset codificación del archivo
+     * @throws java.io.FileNotFoundException si el archivo no existe
+     * @throws IOException              si hay algún error leyendo.
+     * @throws IllegalArgumentException si el archivo o el charset son null
+     */
+    public MappedTokenScanner(File file, Charset charset) throws IOException {
+        this(file, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize bytes del archivo que se mapean por vez, al menos 16
+     */
+    MappedTokenScanner(File file, Charset charset, long windowSize) throws IOException {
+        this(new MappedFileReader(file, charset, windowSize), charset);
+    }
+
+    private MappedTokenScanner(MappedFileReader in, Charset charset) throws IOException {
+        super(in);
+        this.in = in;
+        setByteWidth(byteWidth(charset));
+    }
+
+    /**
+     * Bytes por caracter de las codificaciones en las que se puede calcular
+     * la posición en bytes de cada token.
+     */
+    private static int byteWidth(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return UTF8_WIDTH;
+        }
+        if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+            return 1;
+        }
+        if (charset.equals(StandardCharsets.UTF_16BE) || charset.equals(StandardCharsets.UTF_16LE)) {
+            return 2;
+        }
+        return UNKNOWN_WIDTH;
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,99 @@
+package edu.isistan.spellchecker.tokenizer;
+
+/**
+ * Un token de la entrada con su tipo y su posición, tal como lo clasificó el
+ * TokenScanner (ver {@link TokenScanner#nextToken()}).
+ * Es inmutable.
+ */
+public final class Token {
+
+    /**
+     * Tipo de token: un tramo de caracteres de palabra o uno de caracteres
+     * que no lo son.
+     */
+    public enum Type {
+        WORD, SEPARATOR
+    }
+
+    private final Type type;
+    private final String text;
+    private final long offset;
+    private final long byteOffset;
+    private final int line;
+    private final int column;
+
+    /**
+     * @param type tipo del token
+     * @param text texto del token
+     * @param offset posición del primer caracter en la entrada, en caracteres
+     * @param byteOffset posición del primer caracter en la entrada, en bytes, o -1 si no se conoce
+     * @param line línea del primer caracter, desde 1
+     * @param column columna del primer caracter, en caracteres desde 1
+     * @throws IllegalArgumentException si type o text son null
+     */
+    public Token(Type type, String text, long offset, long byteOffset, int line, int column) {
+        if (type == null || text == null) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+        this.text = text;
+        this.offset = offset;
+        this.byteOffset = byteOffset;
+        this.line = line;
+        this.column = column;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return true si es un token de tipo WORD
+     */
+    public boolean isWord() {
+        return type == Type.WORD;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return posición en bytes, o -1 si no se conoce la codificación de la entrada
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Token)) {
+            return false;
+        }
+        Token other = (Token) o;
+        return type == other.type && text.equals(other.text) && offset == other.offset
+                && byteOffset == other.byteOffset && line == other.line && column == other.column;
+    }
+
+    @Override
+    public int hashCode() {
+        return (text.hashCode() * 31 + Long.hashCode(offset)) * 31 + type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type + " \"" + text + "\" " + line + ":" + column;
+    }
+}
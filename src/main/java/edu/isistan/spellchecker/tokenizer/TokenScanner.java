@@ -1,23 +1,77 @@
 package edu.isistan.spellchecker.tokenizer;
 
 import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.io.IOException;
 import java.util.NoSuchElementException;
 
 /**
  * Dado un archivo provee un mtodo para recorrerlo.
+ * <p>
+ * Los tokens son tramos maximales de caracteres de palabra (ver
+ * {@link #isWordCharacter(int)}) o de caracteres que no lo son. La entrada se
+ * lee en bloques a un buffer de caracteres que crece si un token no entra en
+ * l, y cada token puede recorrerse sin crear un String:
+ * <pre>
+ * while (ts.advance()) {
+ *     CharSequence token = ts.getToken();
+ *     ...
+ * }
+ * </pre>
+ * o con la interfaz Iterator, donde next() crea el String del token.
+ * <p>
+ * Al recorrer cada token se registra su tipo (ver {@link #isWordToken()}) y su
+ * offset en caracteres. Si se pide con {@link #trackPositions()}, se registra
+ * tambin su offset en bytes, su lnea y su columna. As quien recorre los
+ * tokens no necesita volver a clasificar sus caracteres, y
+ * {@link #nextToken()} los retorna juntos en un {@link Token}.
  */
 public class TokenScanner implements Iterator<String> {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
     private Reader r;
-    private int c = -1;
+    private char[] buffer;
+    private int position;   // Comienzo del prximo token
+    private int limit;      // Fin de los caracteres ledos
+    private boolean eof;
+    private int tokenStart; // Token actual: [tokenStart, tokenEnd)
+    private int tokenEnd;
+    private boolean tokenWord;
+    private boolean started;   // Si ya se recorri algn token
+    private CharBuffer view;   // Vista de buffer que retorna getToken()
+
+    private long bufferOffset; // Posicin en la entrada de buffer[0]
+    private boolean positions; // Si se registran bytes, lneas y columnas
+    private int byteWidth = UNKNOWN_WIDTH; // Bytes por caracter, o UTF8_WIDTH o UNKNOWN_WIDTH
+    private long byteOffset;    // Posicin en bytes de position
+    private int line = 1;       // Lnea de position
+    private long lineStart;     // Posicin en la entrada del primer caracter de la lnea
+    private long tokenByteOffset = -1;
+    private int tokenLine;
+    private int tokenColumn;
+
+    //isWordCharacter precalculado para Latin-1, Latin Extended-A y Latin Extended-B
+    private static final int TABLE_SIZE = 0x250;
+    private static final boolean[] WORD_CHARACTERS = new boolean[TABLE_SIZE];
+
+    static {
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            WORD_CHARACTERS[c] = Character.isLetter(c) || c == '\'';
+        }
+    }
+
+    static final int UTF8_WIDTH = 0;
+    static final int UNKNOWN_WIDTH = -1;
 
     /**
      * Crea un TokenScanner.
      * <p>
      * Como un iterador, el TokenScanner solo debe leer lo justo y
      * necesario para implementar los mtodos next() y hasNext().
-     * No se debe leer toda la entrada de una.
+     * No se debe leer toda la entrada de una: se lee de a un bloque
+     * del tamao del buffer.
      * <p>
      *
      * @param in fuente de entrada
@@ -25,12 +79,51 @@ public class TokenScanner implements Iterator<String> {
      * @throws IllegalArgumentException si el Reader provisto es null
      */
     public TokenScanner(java.io.Reader in) throws IOException {
-        if (in != null) {
-            this.r = in;
-            this.c = r.read();
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Crea un TokenScanner con un tamao inicial de buffer.
+     *
+     * @param in fuente de entrada
+     * @param bufferSize caracteres que se leen por vez, al menos 1
+     * @throws IOException              si hay algn error leyendo.
+     * @throws IllegalArgumentException si el Reader provisto es null o bufferSize es menor a 1
+     */
+    public TokenScanner(java.io.Reader in, int bufferSize) throws IOException {
+        if (in == null || bufferSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.r = in;
+        this.buffer = new char[bufferSize];
+        int n = r.read(buffer, 0, buffer.length);
+        if (n < 0) {
+            eof = true;
         } else {
+            limit = n;
+        }
+    }
+
+    /**
+     * Crea un TokenScanner que recorre el tramo [start, end) de un arreglo
+     * sin copiarlo. Las posiciones de los tokens (ver {@link #getTokenStart()})
+     * son posiciones en text, y getTokenBuffer() retorna el mismo text.
+     *
+     * @param text texto a recorrer
+     * @param start comienzo del tramo
+     * @param end fin del tramo
+     * @throws IllegalArgumentException si text es null o el tramo no est dentro de text
+     */
+    public TokenScanner(char[] text, int start, int end) {
+        if (text == null || start < 0 || end > text.length || start > end) {
             throw new IllegalArgumentException();
         }
+        this.buffer = text;
+        this.position = start;
+        this.limit = end;
+        this.eof = true;
+        this.bufferOffset = -start;
+        this.lineStart = 0;
     }
 
     /**
@@ -38,11 +131,15 @@ public class TokenScanner implements Iterator<String> {
      * <p>
      * Un caracter vlido es una letra (
      * Character.isLetter) o una apostrofe '\''.
+     * Los caracteres hasta Latin Extended-B (U+024F) se buscan en una tabla.
      *
      * @param c
      * @return true si es un caracter
      */
     public static boolean isWordCharacter(int c) {
+        if (c >= 0 && c < TABLE_SIZE) {
+            return WORD_CHARACTERS[c];
+        }
         return ((Character.isLetter(c)) || c == '\'');
     }
 
@@ -57,15 +154,14 @@ public class TokenScanner implements Iterator<String> {
      * @return true si el string es una palabra.
      */
     public static boolean isWord(String s) {
-        boolean palabraValida = true;
         if (s != null) {
             if (!s.isEmpty()) {
                 for (int i = 0; i < s.length(); i++) {
                     if (!isWordCharacter(s.charAt(i))) {
-                        palabraValida = false;
+                        return false;
                     }
                 }
-                return palabraValida;
+                return true;
             }
         }
         return false;
@@ -73,9 +169,191 @@ public class TokenScanner implements Iterator<String> {
 
     /**
      * Determina si hay otro token en el reader.
+     * <p>
+     * Puede leer un nuevo bloque de la entrada, lo que invalida el token
+     * actual (ver {@link #getToken()}).
      */
     public boolean hasNext() {
-        return (c != -1);
+        return position < limit || fill();
+    }
+
+    /**
+     * Registra, para cada token, su posicin en bytes, su lnea y su columna
+     * (ver {@link #getTokenLine()}). Agrega trabajo por cada caracter, as
+     * que solo lo piden quienes reportan posiciones; debe pedirse antes de
+     * recorrer el primer token.
+     *
+     * @throws IllegalStateException si ya se recorri algn token sin registrarlas
+     */
+    public void trackPositions() {
+        if (!positions && started) {
+            throw new IllegalStateException("ya se recorrieron tokens");
+        }
+        positions = true;
+    }
+
+    /**
+     * Avanza al siguiente token sin crear un String. El token queda
+     * disponible en {@link #getToken()} hasta la prxima llamada a
+     * advance(), hasNext() o next().
+     *
+     * @return false cuando se alcanz el final del stream
+     */
+    public boolean advance() {
+        if (!hasNext()) {
+            return false;
+        }
+        started = true;
+        tokenWord = isWordCharacter(buffer[position]);
+        int n;
+        if (positions) {
+            n = scanCounting();
+        } else {
+            n = 1;
+            while ((position + n < limit || fill()) && isWordCharacter(buffer[position + n]) == tokenWord) {
+                n++;
+            }
+        }
+        tokenStart = position;
+        tokenEnd = position + n;
+        position = tokenEnd;
+        return true;
+    }
+
+    /**
+     * Recorre el token que empieza en position registrando su posicin, y
+     * cuenta sus bytes y sus saltos de lnea.
+     *
+     * @return largo del token
+     */
+    private int scanCounting() {
+        long offset = bufferOffset + position;
+        tokenByteOffset = byteWidth == UNKNOWN_WIDTH ? -1 : byteOffset;
+        tokenLine = line;
+        tokenColumn = (int) (offset - lineStart) + 1;
+        // Bytes de ms de los caracteres no ASCII, en UTF-8
+        int extraBytes = 0;
+        int n = 0;
+        do {
+            char c = buffer[position + n];
+            if (c >= 0x80) {
+                extraBytes += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+            } else if (c == '\n') {
+                line++;
+                lineStart = offset + n + 1;
+            }
+            n++;
+        } while ((position + n < limit || fill()) && isWordCharacter(buffer[position + n]) == tokenWord);
+        if (byteWidth == UTF8_WIDTH) {
+            byteOffset += n + extraBytes;
+        } else if (byteWidth > 0) {
+            byteOffset += (long) n * byteWidth;
+        }
+        return n;
+    }
+
+    /**
+     * Avanza al siguiente token y lo retorna con su tipo y posicin. Si
+     * todava no se recorri ningn token, activa {@link #trackPositions()}.
+     *
+     * @throws NoSuchElementException cuando se alcanz el final de stream
+     * @throws IllegalStateException si ya se recorrieron tokens sin registrar sus posiciones
+     */
+    public Token nextToken() {
+        trackPositions();
+        String text = next();
+        return new Token(tokenWord ? Token.Type.WORD : Token.Type.SEPARATOR, text,
+                getTokenOffset(), tokenByteOffset, tokenLine, tokenColumn);
+    }
+
+    /**
+     * @return true si el token actual es una palabra, false si es un separador
+     */
+    public boolean isWordToken() {
+        return tokenWord;
+    }
+
+    /**
+     * @return posicin del token actual en la entrada, en caracteres. Para un
+     * TokenScanner sobre un tramo de un arreglo, la posicin se cuenta desde
+     * el comienzo del tramo.
+     */
+    public long getTokenOffset() {
+        return bufferOffset + tokenStart;
+    }
+
+    /**
+     * @return posicin del token actual en la entrada, en bytes, o -1 si no se
+     * conoce la codificacin (por ejemplo, si se lee de un Reader) o no se
+     * registran posiciones. Si la entrada tena secuencias mal formadas puede
+     * no ser exacta.
+     */
+    public long getTokenByteOffset() {
+        return tokenByteOffset;
+    }
+
+    /**
+     * @return lnea del token actual, desde 1, o 0 si no se registran
+     * posiciones (ver {@link #trackPositions()})
+     */
+    public int getTokenLine() {
+        return tokenLine;
+    }
+
+    /**
+     * @return columna del token actual en su lnea, en caracteres desde 1, o 0
+     * si no se registran posiciones
+     */
+    public int getTokenColumn() {
+        return tokenColumn;
+    }
+
+    /**
+     * Indica cuntos bytes ocupa cada caracter en la entrada, para calcular
+     * las posiciones en bytes.
+     *
+     * @param width bytes por caracter, UTF8_WIDTH o UNKNOWN_WIDTH
+     */
+    void setByteWidth(int width) {
+        this.byteWidth = width;
+    }
+
+    /**
+     * Retorna el token actual como una vista sobre el buffer, sin copiar
+     * los caracteres. Solo es vlida hasta la prxima llamada a advance(),
+     * hasNext() o next(); para conservarla usar toString().
+     * <p>
+     * La vista se reutiliza entre tokens, as que getToken() no crea objetos
+     * salvo cuando el buffer crece.
+     */
+    public CharSequence getToken() {
+        if (view == null || view.array() != buffer) {
+            view = CharBuffer.wrap(buffer);
+        }
+        view.limit(tokenEnd);
+        view.position(tokenStart);
+        return view;
+    }
+
+    /**
+     * @return el buffer que contiene al token actual, en [getTokenStart(), getTokenEnd())
+     */
+    public char[] getTokenBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return posicin del token actual en getTokenBuffer()
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * @return posicin siguiente al ltimo caracter del token actual en getTokenBuffer()
+     */
+    public int getTokenEnd() {
+        return tokenEnd;
     }
 
     /**
@@ -84,32 +362,47 @@ public class TokenScanner implements Iterator<String> {
      * @throws NoSuchElementException cuando se alcanz el final de stream
      */
     public String next() {
-        if (!hasNext()) {
+        if (!advance()) {
             throw new NoSuchElementException();
         }
-        String answer = "";
+        return new String(buffer, tokenStart, tokenEnd - tokenStart);
+    }
 
-        if (isWordCharacter(this.c) && hasNext()) {
-            while ((isWordCharacter(this.c))) {
-                answer = answer + (char) c;
-                try {
-                    c = r.read();
-                } catch (IOException e) {
-                    c = -1;
-                }
-            }
-        } else {
-            while (!isWordCharacter(c) && hasNext()) {
-                answer = answer + (char) c;
-                try {
-                    c = r.read();
-                } catch (IOException e) {
-                    c = -1;
-                }
-            }
+    /**
+     * Lee el siguiente bloque a continuacin de los caracteres pendientes,
+     * que antes se mueven al principio del buffer. Si el buffer est lleno
+     * de caracteres pendientes (un token muy largo) se duplica.
+     * Un error de lectura se trata como el final del stream.
+     *
+     * @return true si se ley al menos un caracter
+     */
+    private boolean fill() {
+        if (eof) {
+            return false;
         }
-
-        return answer;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            bufferOffset += position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int n;
+        try {
+            do {
+                n = r.read(buffer, limit, buffer.length - limit);
+            } while (n == 0);
+        } catch (IOException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
     }
 
 }
@@ -0,0 +1,100 @@
+package edu.isistan.spellchecker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CorrectionSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testResolve() {
+        CorrectionSession session = new CorrectionSession();
+        assertTrue(session.isEmpty());
+        session.ignoreAll("Qiuck");
+        session.replaceAll("Teh", "the");
+        assertEquals(2, session.size());
+        assertEquals("qiuck", session.resolve("qiuck"));
+        assertEquals("QIUCK", session.resolve("QIUCK"));
+        assertEquals("the", session.resolve("teh"));
+        assertEquals("The", session.resolve("Teh"));
+        assertEquals("THE", session.resolve("TEH"));
+        assertNull(session.resolve("tje"));
+        session.replaceAll("qiuck", "quick");
+        assertEquals("Quick", session.resolve("Qiuck"));
+        assertEquals(2, session.size());
+    }
+
+    @Test
+    public void testReplacementKeepsItsCase() {
+        CorrectionSession session = new CorrectionSession();
+        session.replaceAll("TEH", "THE");
+        session.replaceAll("Nyc", "NYC");
+        session.replaceAll("iphone", "iPhone");
+        assertEquals("THE", session.resolve("teh"));
+        assertEquals("THE", session.resolve("Teh"));
+        assertEquals("THE", session.resolve("TEH"));
+        assertEquals("NYC", session.resolve("nyc"));
+        assertEquals("NYC", session.resolve("Nyc"));
+        assertEquals("iPhone", session.resolve("iphone"));
+        assertEquals("IPhone", session.resolve("Iphone"));
+        assertEquals("IPHONE", session.resolve("IPHONE"));
+    }
+
+    @Test
+    public void testResolveSequence() {
+        CorrectionSession session = new CorrectionSession();
+        for (int i = 0; i < 100; i++) {
+            session.replaceAll("w" + i, "r" + i);
+        }
+        session.ignoreAll("Qiuck");
+        assertEquals(101, session.size());
+        String text = "the W42 qIUCK w99";
+        assertNull(session.resolve(text, 0, 3));
+        assertEquals("R42", session.resolve(text, 4, 7));
+        assertEquals("qIUCK", session.resolve(text, 8, 13));
+        assertEquals("r99", session.resolve(text, 14, 17));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        File file = new File(folder.getRoot(), "session.txt");
+        assertTrue(CorrectionSession.load(file.getPath()).isEmpty());
+        CorrectionSession session = new CorrectionSession();
+        session.replaceAll("teh", "the");
+        session.ignoreAll("Gettysburg");
+        session.save(file.getPath());
+        assertEquals("gettysburg\nteh\tthe\n", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        CorrectionSession loaded = CorrectionSession.load(file.getPath());
+        assertEquals(2, loaded.size());
+        assertEquals("The", loaded.resolve("Teh"));
+        assertEquals("Gettysburg", loaded.resolve("Gettysburg"));
+    }
+
+    @Test
+    public void testInvalid() {
+        CorrectionSession session = new CorrectionSession();
+        try {
+            session.ignoreAll("");
+            fail("Expected an IllegalArgumentException - empty word.");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            session.replaceAll("teh", null);
+            fail("Expected an IllegalArgumentException - null replacement.");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
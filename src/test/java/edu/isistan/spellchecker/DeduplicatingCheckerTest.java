@@ -0,0 +1,120 @@
+package edu.isistan.spellchecker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.impl.FileCorrector;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class DeduplicatingCheckerTest {
+
+    private static final String DOC = "Tghe qiuck fox, tghe fox.\nTghe lazy teh dogs teh teh 45 brown";
+
+    private SpellChecker checker;
+    private AtomicInteger calls;
+
+    @Before
+    public void setUp() throws IOException, FileCorrector.FormatException {
+        final Corrector corrector = FileCorrector.make("theFoxMisspellings.txt");
+        calls = new AtomicInteger();
+        Corrector counting = new Corrector() {
+            public Set<String> getCorrections(String wrong) {
+                calls.incrementAndGet();
+                return corrector.getCorrections(wrong);
+            }
+        };
+        checker = new SpellChecker(counting, Dictionary.make("theFoxDictionary.txt"));
+    }
+
+    private static TokenScanner scan(String text) throws IOException {
+        return new TokenScanner(new StringReader(text));
+    }
+
+    @Test
+    public void testCorrectDocument() throws IOException {
+        for (int window : new int[] { 1, 3, 1000 }) {
+            for (CorrectionPolicy policy : CorrectionPolicy.values()) {
+                StringWriter expected = new StringWriter();
+                StringWriter out = new StringWriter();
+                DeduplicatingChecker dedup = new DeduplicatingChecker(checker, window, null);
+                assertEquals(checker.correctDocument(scan(DOC), expected, policy), dedup.correctDocument(scan(DOC), out, policy));
+                assertEquals(expected.toString(), out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testCorrectsEachWordOnce() throws IOException {
+        DeduplicatingChecker dedup = new DeduplicatingChecker(checker, 4, null);
+        dedup.correctDocument(scan(DOC), new StringWriter(), CorrectionPolicy.AUTO);
+        assertEquals(5, calls.get()); // Tghe, qiuck, tghe, teh, brown
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        counts.put("Tghe", 2);
+        counts.put("qiuck", 1);
+        counts.put("tghe", 1);
+        counts.put("teh", 3);
+        counts.put("brown", 1);
+        assertEquals(counts, dedup.getCounts());
+    }
+
+    @Test
+    public void testReuse() throws IOException {
+        DeduplicatingChecker dedup = new DeduplicatingChecker(checker, 4, null);
+        dedup.correctDocument(scan(DOC), new StringWriter(), CorrectionPolicy.AUTO);
+        StringWriter out = new StringWriter();
+        assertEquals(3, dedup.reportDocument(scan("teh fox teh qiuck"), out));
+        assertEquals(7, calls.get()); // Las del segundo documento se corrigen de nuevo
+        Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+        counts.put("teh", 2);
+        counts.put("qiuck", 1);
+        assertEquals(counts, dedup.getCounts());
+        StringWriter expected = new StringWriter();
+        checker.reportDocument(scan("teh fox teh qiuck"), expected);
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    @Test
+    public void testReportDocumentInParallel() throws IOException {
+        StringWriter expected = new StringWriter();
+        assertEquals(8, checker.reportDocument(scan(DOC), expected));
+        calls.set(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            StringWriter out = new StringWriter();
+            assertEquals(8, new DeduplicatingChecker(checker, 1000, executor).reportDocument(scan(DOC), out));
+            assertEquals(expected.toString(), out.toString());
+            assertEquals(5, calls.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        try {
+            new DeduplicatingChecker(null, 1, null);
+            fail("Expected an IllegalArgumentException - null checker.");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new DeduplicatingChecker(checker, 0, null);
+            fail("Expected an IllegalArgumentException - empty window.");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.isistan.spellchecker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.impl.FileCorrector;
+
+public class DirectoryCheckerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SpellChecker checker;
+    private Path in;
+
+    private static void write(Path file, String text) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @Before
+    public void setUp() throws IOException, FileCorrector.FormatException {
+        checker = new SpellChecker(FileCorrector.make("theFoxMisspellings.txt"), Dictionary.make("theFoxDictionary.txt"));
+        in = folder.newFolder("in").toPath();
+        write(in.resolve("a.txt"), "Tghe qiuck fox");
+        write(in.resolve("sub/b.txt"), "tje lazy dogs");
+        write(in.resolve("sub/c.md"), "qiuck");
+    }
+
+    @Test
+    public void testCheckDirectory() throws IOException {
+        Path out = folder.getRoot().toPath().resolve("out");
+        ExecutorService executor = DirectoryChecker.newExecutor(2);
+        try {
+            DirectoryChecker dc = new DirectoryChecker(checker, CorrectionPolicy.AUTO, StandardCharsets.UTF_8, executor, 2);
+            assertEquals(3, dc.checkAll(in.toString(), out));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("The quick fox", read(out.resolve("a.txt")));
+        assertEquals("the lazy dogs", read(out.resolve("sub/b.txt")));
+        assertEquals("quick", read(out.resolve("sub/c.md")));
+    }
+
+    @Test
+    public void testCheckGlob() throws IOException {
+        Path out = folder.getRoot().toPath().resolve("out");
+        ExecutorService executor = DirectoryChecker.newExecutor(1);
+        try {
+            DirectoryChecker dc = new DirectoryChecker(checker, CorrectionPolicy.REPORT, StandardCharsets.UTF_8, executor, 1);
+            assertEquals(1, dc.checkAll(in + File.separator + "sub" + File.separator + "*.txt", out));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("tje lazy dogs", read(out.resolve("b.txt")));
+        assertFalse(Files.exists(out.resolve("c.md")));
+    }
+
+    @Test
+    public void testList() throws IOException {
+        assertEquals(Arrays.asList(Paths.get("a.txt"), Paths.get("sub/b.txt"), Paths.get("sub/c.md")),
+                DirectoryChecker.list(in.toString()));
+        assertEquals(Arrays.asList(Paths.get("a.txt")), DirectoryChecker.list(in + "/*.txt"));
+        assertEquals(Arrays.asList(Paths.get("sub/b.txt")), DirectoryChecker.list(in + "/*/*.txt"));
+        assertEquals(in, DirectoryChecker.root(in + "/*/*.txt"));
+        assertEquals(Paths.get("."), DirectoryChecker.root("*.txt"));
+        assertFalse(DirectoryChecker.isGlob(in.toString()));
+    }
+
+    @Test
+    public void testCheckAllFailure() throws IOException {
+        // Un archivo de salida que ya es un directorio no se puede escribir
+        Path out = folder.getRoot().toPath().resolve("out");
+        Files.createDirectories(out.resolve("a.txt"));
+        ExecutorService executor = DirectoryChecker.newExecutor(2);
+        try {
+            new DirectoryChecker(checker, CorrectionPolicy.AUTO, StandardCharsets.UTF_8, executor, 2)
+                    .checkAll(in.toString(), out);
+            fail("Expected an IOException.");
+        } catch (IOException e) {
+            assertEquals(1, e.getSuppressed().length);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("the lazy dogs", read(out.resolve("sub/b.txt")));
+    }
+}
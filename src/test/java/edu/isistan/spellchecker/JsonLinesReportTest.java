@@ -0,0 +1,45 @@
+package edu.isistan.spellchecker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class JsonLinesReportTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        StringWriter out = new StringWriter();
+        JsonLinesReport report = new JsonLinesReport(out);
+        report.write(new Misspelling("Tghe", 0, 1, 1, Arrays.asList("The", "Tighe")));
+        report.write(new Misspelling("brown", 5000000000L, 3, 7, Collections.<String>emptyList()));
+        report.flush();
+        assertEquals("{\"word\":\"Tghe\",\"offset\":0,\"line\":1,\"column\":1,\"suggestions\":[\"The\",\"Tighe\"]}\n"
+                + "{\"word\":\"brown\",\"offset\":5000000000,\"line\":3,\"column\":7,\"suggestions\":[]}\n",
+                out.toString());
+    }
+
+    @Test
+    public void testEscape() throws IOException {
+        StringWriter out = new StringWriter();
+        JsonLinesReport report = new JsonLinesReport(out);
+        report.write(new Misspelling("a\"b\\c\nd\u0001e\u00f1", 0, 1, 1, Arrays.asList("it's")));
+        report.close();
+        assertEquals("{\"word\":\"a\\\"b\\\\c\\nd\\u0001e\u00f1\",\"offset\":0,\"line\":1,\"column\":1,"
+                + "\"suggestions\":[\"it's\"]}\n", out.toString());
+    }
+
+    @Test
+    public void testInvalid() {
+        try {
+            new JsonLinesReport(null);
+            fail("Expected an IllegalArgumentException - null writer.");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+import edu.isistan.spellchecker.corrector.impl.BKTreeCorrector;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda en el BK-tree contra Levenshtein guiado por el Trie
+ * para distintos umbrales, y la carga del árbol guardado contra construirlo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class BKTreeBenchmark {
+
+    @Param({"1", "2", "3"})
+    private int distance;
+
+    private TrieDictionary dictionary;
+
+    private BKTreeCorrector tree;
+
+    private Levenshtein levenshtein;
+
+    private File saved;
+
+    private String[] words = {"recieve", "definately", "thsi", "acommodate", "wierd", "goverment", "libery", "nation"};
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dictionary = TrieDictionary.make("dictionary.txt");
+        tree = new BKTreeCorrector(dictionary, distance);
+        levenshtein = new Levenshtein(dictionary, distance);
+        saved = File.createTempFile("bktree", ".bin");
+        tree.save(saved.getPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        saved.delete();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object build() {
+        return new BKTreeCorrector(dictionary, distance);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object load() throws IOException {
+        return BKTreeCorrector.load(saved.getPath(), distance);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int bkTree() {
+        int found = 0;
+        for (String word : words) {
+            found += tree.getCorrections(word).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int levenshtein() {
+        int found = 0;
+        for (String word : words) {
+            found += levenshtein.getCorrections(word).size();
+        }
+        return found;
+    }
+
+}
@@ -2,6 +2,11 @@ package edu.isistan.spellchecker.benchmarks;
 
 public class BenchmarkRunner {
     public static void main(String[] args) throws Exception {
+        // Si se pasan argumentos se usan tal cual (por ejemplo: LookupBenchmark -prof gc)
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
         // Configurar opciones de JMH
         org.openjdk.jmh.Main.main(new String[]{
                 "edu.isistan.spellchecker.benchmarks.DiccionarioBenchmark",
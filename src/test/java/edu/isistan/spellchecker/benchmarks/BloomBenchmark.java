@@ -0,0 +1,101 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.corrector.BloomFilterLexicon;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cuánto ahorra el filtro de Bloom al probar candidatos de corrección.
+ * <p>
+ * Los candidatos son todas las ediciones a distancia uno (borrados,
+ * intercambios, cambios e inserciones de a-z) de errores de ortografía
+ * comunes, que es lo que consultan SwapCorrector, Levenshtein y
+ * DamerauLevenshtein: casi ninguno es una palabra.
+ * <pre>
+ * BenchmarkRunner BloomBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BloomBenchmark {
+
+    private static final String[] MISSPELLINGS = {
+        "recieve", "teh", "wierd", "seperate", "occured", "definately", "goverment",
+        "untill", "acheive", "beleive", "neccessary", "tommorow", "wich", "becuase"
+    };
+
+    /** Cantidad de candidatos generados a partir de MISSPELLINGS. */
+    private static final int CANDIDATES = 5642;
+
+    @Param({"TREE", "TRIE", "HASH"})
+    private String backend;
+
+    /** Tasa de falsos positivos del filtro, o 0 para consultar el diccionario directamente. */
+    @Param({"0", "0.01"})
+    private double bloom;
+
+    private Lexicon dictionary;
+
+    private String[] candidates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (backend.equals("TREE")) {
+            dictionary = Dictionary.make("dictionary.txt");
+        } else if (backend.equals("TRIE")) {
+            dictionary = TrieDictionary.make("dictionary.txt");
+        } else {
+            dictionary = HashDictionary.make("dictionary.txt");
+        }
+        if (bloom > 0) {
+            dictionary = new BloomFilterLexicon(dictionary, bloom);
+        }
+        List<String> all = new ArrayList<String>();
+        for (String word : MISSPELLINGS) {
+            for (int i = 0; i < word.length(); i++) {
+                all.add(word.substring(0, i) + word.substring(i + 1));
+                if (i + 1 < word.length()) {
+                    all.add(word.substring(0, i) + word.charAt(i + 1) + word.charAt(i) + word.substring(i + 2));
+                }
+                for (char c = 'a'; c <= 'z'; c++) {
+                    all.add(word.substring(0, i) + c + word.substring(i + 1));
+                }
+            }
+            for (int i = 0; i <= word.length(); i++) {
+                for (char c = 'a'; c <= 'z'; c++) {
+                    all.add(word.substring(0, i) + c + word.substring(i));
+                }
+            }
+        }
+        candidates = all.toArray(new String[all.size()]);
+        if (candidates.length != CANDIDATES) {
+            throw new IllegalStateException("CANDIDATES debe ser " + candidates.length);
+        }
+    }
+
+    /** Una consulta por candidato; el resultado se normaliza por consulta. */
+    @Benchmark
+    @OperationsPerInvocation(CANDIDATES)
+    public int probeCandidates() {
+        int hits = 0;
+        for (String candidate : candidates) {
+            if (dictionary.isWord(candidate, 0, candidate.length())) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+}
@@ -0,0 +1,64 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.impl.DamerauLevenshtein;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara DamerauLevenshtein contra correr SwapCorrector y Levenshtein por
+ * separado y unir los resultados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DamerauBenchmark {
+
+    private DamerauLevenshtein damerau;
+
+    private SwapCorrector swap;
+
+    private Levenshtein levenshtein;
+
+    private String[] words = {"recieve", "definately", "thsi", "acommodate", "wierd", "goverment", "libery", "nation"};
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        HashDictionary dictionary = HashDictionary.make("dictionary.txt");
+        damerau = new DamerauLevenshtein(dictionary);
+        swap = new SwapCorrector(dictionary);
+        levenshtein = new Levenshtein(dictionary);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int damerau() {
+        int found = 0;
+        for (String word : words) {
+            found += damerau.getCorrections(word).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int swapAndLevenshtein() {
+        int found = 0;
+        for (String word : words) {
+            Set<String> union = new TreeSet<String>(swap.getCorrections(word));
+            union.addAll(levenshtein.getCorrections(word));
+            found += union.size();
+        }
+        return found;
+    }
+
+}
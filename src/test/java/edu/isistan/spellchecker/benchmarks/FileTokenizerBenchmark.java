@@ -0,0 +1,75 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.tokenizer.MappedTokenScanner;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cuánto tarda en recorrerse un archivo grande (20 copias del
+ * diccionario, unos 11 MB) leyéndolo con FileReader y BufferedReader, como
+ * hacían Dictionary.make y SpellCheckerRunner, o con MappedTokenScanner.
+ * <pre>
+ * BenchmarkRunner FileTokenizerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileTokenizerBenchmark {
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] dictionary = Files.readAllBytes(Paths.get("dictionary.txt"));
+        file = File.createTempFile("corpus", ".txt");
+        OutputStream out = new FileOutputStream(file);
+        for (int i = 0; i < 20; i++) {
+            out.write(dictionary);
+        }
+        out.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int reader() throws IOException {
+        Reader in = new BufferedReader(new FileReader(file));
+        try {
+            return count(new TokenScanner(in));
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public int mapped() throws IOException {
+        MappedTokenScanner ts = new MappedTokenScanner(file, StandardCharsets.UTF_8);
+        try {
+            return count(ts);
+        } finally {
+            ts.close();
+        }
+    }
+
+    private static int count(TokenScanner ts) {
+        int tokens = 0;
+        while (ts.advance()) {
+            tokens++;
+        }
+        return tokens;
+    }
+
+}
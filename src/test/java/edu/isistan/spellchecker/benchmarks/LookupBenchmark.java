@@ -0,0 +1,70 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de probar candidatos de corrección contra cada diccionario,
+ * tal como lo hacen Levenshtein y SwapCorrector: un buffer de caracteres que
+ * se modifica en el lugar y se consulta con isWord(CharSequence, int, int).
+ * <p>
+ * Correr con el profiler de GC para verificar que la búsqueda no crea objetos
+ * (gc.alloc.rate.norm cercano a 0 B/op en HASH y TRIE):
+ * <pre>
+ * BenchmarkRunner LookupBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"TREE", "TRIE", "HASH"})
+    private String backend;
+
+    private Lexicon dictionary;
+
+    private char[] buffer = "Recieve".toCharArray();
+
+    private CharBuffer candidate = CharBuffer.wrap(buffer);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (backend.equals("TREE")) {
+            dictionary = Dictionary.make("dictionary.txt");
+        } else if (backend.equals("TRIE")) {
+            dictionary = TrieDictionary.make("dictionary.txt");
+        } else {
+            dictionary = HashDictionary.make("dictionary.txt");
+        }
+    }
+
+    /** Todas las sustituciones de una letra de "Recieve": 7 * 26 consultas. */
+    @Benchmark
+    @OperationsPerInvocation(7 * 26)
+    public int probeSubstitutions() {
+        int hits = 0;
+        for (int i = 0; i < buffer.length; i++) {
+            char original = buffer[i];
+            for (char c = 'a'; c <= 'z'; c++) {
+                buffer[i] = c;
+                if (dictionary.isWord(candidate, 0, buffer.length)) {
+                    hits++;
+                }
+            }
+            buffer[i] = original;
+        }
+        return hits;
+    }
+
+}
@@ -0,0 +1,72 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.SpellChecker;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.impl.DamerauLevenshtein;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cómo escala SpellChecker.findMisspellings con la cantidad de hilos
+ * sobre un documento grande (1000 copias de Gettysburg.txt, unos 1.5 MB con
+ * 7000 palabras mal escritas). Con threads=0 se usa la versión secuencial.
+ * <p>
+ * La escala depende de los núcleos de la máquina: correr con
+ * <pre>
+ * BenchmarkRunner ParallelCheckBenchmark -p threads=0,1,2,4,8,16,32
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelCheckBenchmark {
+
+    @Param({"0", "1", "2", "4"})
+    private int threads;
+
+    private SpellChecker checker;
+
+    private char[] text;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        HashDictionary dictionary = HashDictionary.make("dictionary.txt");
+        checker = new SpellChecker(new DamerauLevenshtein(dictionary), dictionary);
+        String gettysburg = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(gettysburg);
+        }
+        text = sb.toString().toCharArray();
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int findMisspellings() {
+        if (pool == null) {
+            return checker.findMisspellings(text, 0, text.length).size();
+        }
+        return checker.findMisspellings(text, 0, text.length, pool).size();
+    }
+
+}
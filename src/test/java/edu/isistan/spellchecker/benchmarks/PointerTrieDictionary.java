@@ -0,0 +1,69 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Implementación anterior de TrieDictionary (un arreglo de 27 hijos por nodo),
+ * conservada solo como línea de base para TrieBenchmark.
+ * Solo soporta las letras a-z y el apóstrofe.
+ */
+class PointerTrieDictionary {
+
+    static final int ALPHABET_SIZE = 27; //Se suma 1 valor para el apóstrofe a las 26
+
+    static class Node {
+        Node[] children = new Node[ALPHABET_SIZE]; //Hijos del nodo
+        boolean isEndOfWord;  //Indica si es el final de la palabra
+    }
+
+    private Node dictionary = new Node(); //Nodo raiz
+
+    PointerTrieDictionary(TokenScanner ts) {
+        while (ts.hasNext()) {
+            String nextString = ts.next();
+            if (TokenScanner.isWord(nextString)) {
+                this.insert(nextString.toLowerCase());
+            }
+        }
+    }
+
+    static PointerTrieDictionary make(String filename) throws IOException {
+        Reader r = new FileReader(filename);
+        PointerTrieDictionary d = new PointerTrieDictionary(new TokenScanner(r));
+        r.close();
+        return d;
+    }
+
+    boolean isWord(String word) {
+        if (word != null) {
+            return this.search(word.toLowerCase());
+        }
+        return false;
+    }
+
+    void insert(String key) {
+        Node current = this.dictionary;
+        for (int level = 0; level < key.length(); level++) {
+            int index = key.charAt(level) == '\'' ? 26 : key.charAt(level) - 'a';
+            if (current.children[index] == null)
+                current.children[index] = new Node();
+            current = current.children[index];
+        }
+        current.isEndOfWord = true;
+    }
+
+    boolean search(String key) {
+        Node current = this.dictionary;
+        for (int level = 0; level < key.length(); level++) {
+            int index = key.charAt(level) == '\'' ? 26 : key.charAt(level) - 'a';
+            if (index < 0 || index >= ALPHABET_SIZE || current.children[index] == null)
+                return false;
+            current = current.children[index];
+        }
+        return current.isEndOfWord;
+    }
+}
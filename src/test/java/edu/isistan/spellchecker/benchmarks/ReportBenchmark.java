@@ -0,0 +1,84 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.SpellChecker;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.impl.CachingCorrector;
+import edu.isistan.spellchecker.corrector.impl.DamerauLevenshtein;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el costo de SpellChecker.reportDocument (reporte JSON Lines) con
+ * el de solo separar los tokens y buscarlos en el diccionario, sobre 1000
+ * copias de Gettysburg.txt. Las correcciones pasan por un CachingCorrector,
+ * así que después del calentamiento se mide sobre todo el reporte.
+ * <pre>
+ * BenchmarkRunner ReportBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+    private HashDictionary dictionary;
+
+    private SpellChecker checker;
+
+    private char[] text;
+
+    // Descarta lo que se escribe
+    private final Writer sink = new Writer() {
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dictionary = HashDictionary.make("dictionary.txt");
+        checker = new SpellChecker(new CachingCorrector(new DamerauLevenshtein(dictionary), 1024), dictionary);
+        String gettysburg = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(gettysburg);
+        }
+        text = sb.toString().toCharArray();
+    }
+
+    @Benchmark
+    public int lookup() {
+        TokenScanner ts = new TokenScanner(text, 0, text.length);
+        int unknown = 0;
+        while (ts.advance()) {
+            if (ts.isWordToken() && !dictionary.isWord(ts.getToken(), 0, ts.getTokenEnd() - ts.getTokenStart())) {
+                unknown++;
+            }
+        }
+        return unknown;
+    }
+
+    @Benchmark
+    public long report() throws IOException {
+        return checker.reportDocument(new TokenScanner(text, 0, text.length), sink);
+    }
+
+}
@@ -0,0 +1,79 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.corrector.impl.SymSpellCorrector;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara SymSpellCorrector contra Levenshtein (fuerza bruta para distancia 1,
+ * guiado por el Trie para distancia 2) sobre dictionary.txt.
+ * <p>
+ * buildIndex mide la construcción del índice de borrados; en el setup se
+ * imprime su tamaño.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class SymSpellBenchmark {
+
+    @Param({"1", "2"})
+    private int distance;
+
+    private HashDictionary dictionary;
+
+    private Corrector symSpell;
+
+    private Corrector levenshtein;
+
+    private String[] words = {"recieve", "definately", "thsi", "acommodate", "wierd", "goverment", "libery", "nation"};
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dictionary = HashDictionary.make("dictionary.txt");
+        SymSpellCorrector index = new SymSpellCorrector(dictionary, distance);
+        System.out.println("Indice (distancia " + distance + "): " + index.getIndexSize() + " variantes, "
+                + index.getIndexEntries() + " ids, " + index.getBuildMillis() + " ms");
+        symSpell = index;
+        levenshtein = distance == 1 ? new Levenshtein(dictionary)
+                : new Levenshtein(TrieDictionary.make("dictionary.txt"), distance);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object buildIndex() {
+        return new SymSpellCorrector(dictionary, distance);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int symSpell() {
+        int found = 0;
+        for (String word : words) {
+            found += symSpell.getCorrections(word).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int levenshtein() {
+        int found = 0;
+        for (String word : words) {
+            found += levenshtein.getCorrections(word).size();
+        }
+        return found;
+    }
+
+}
@@ -0,0 +1,138 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cuánto tarda TokenScanner en recorrer un documento, creando un String
+ * por token (next) o recorriendo las vistas sobre el buffer (advance), y en
+ * contar sus palabras volviendo a clasificar cada token (reclassify) o con
+ * el tipo que registra el TokenScanner (tokenType). isWordCharacter e
+ * isLetter comparan la tabla de TokenScanner.isWordCharacter con la
+ * clasificación de Character.isLetter que reemplaza, caracter por caracter.
+ * <p>
+ * El documento es el diccionario (tokens cortos separados por saltos de
+ * línea), un texto con tablas, con corridas largas de espacios y guiones
+ * entre palabras, o un texto en castellano con letras acentuadas.
+ * <pre>
+ * BenchmarkRunner TokenizerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    @Param({"DICTIONARY", "TABLE", "SPANISH"})
+    private String document;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (document.equals("DICTIONARY")) {
+            text = new String(Files.readAllBytes(Paths.get("dictionary.txt")), StandardCharsets.ISO_8859_1);
+        } else if (document.equals("SPANISH")) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 10000; i++) {
+                sb.append("El pingüino Ñandú comió ñoquis en la canción del año; ¿qué pasó después?\n");
+            }
+            text = sb.toString();
+        } else {
+            StringBuilder sb = new StringBuilder();
+            StringBuilder rule = new StringBuilder("+");
+            for (int i = 0; i < 200; i++) {
+                rule.append('-');
+            }
+            rule.append("+\n");
+            for (int row = 0; row < 2000; row++) {
+                sb.append(rule);
+                sb.append("| word").append("                                        ")
+                        .append("| another ").append("                                        ")
+                        .append("| 12345.678 |\n");
+            }
+            text = sb.toString();
+        }
+    }
+
+    @Benchmark
+    public int next() throws IOException {
+        TokenScanner ts = new TokenScanner(new StringReader(text));
+        int length = 0;
+        while (ts.hasNext()) {
+            length += ts.next().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int advance() throws IOException {
+        TokenScanner ts = new TokenScanner(new StringReader(text));
+        int length = 0;
+        while (ts.advance()) {
+            length += ts.getTokenEnd() - ts.getTokenStart();
+        }
+        return length;
+    }
+
+    /** Cuenta las palabras volviendo a clasificar cada token, como hacía checkDocument. */
+    @Benchmark
+    public int reclassify() throws IOException {
+        TokenScanner ts = new TokenScanner(new StringReader(text));
+        int words = 0;
+        while (ts.hasNext()) {
+            if (TokenScanner.isWord(ts.next())) {
+                words++;
+            }
+        }
+        return words;
+    }
+
+    /** Cuenta las palabras con el tipo que registró el TokenScanner. */
+    @Benchmark
+    public int tokenType() throws IOException {
+        TokenScanner ts = new TokenScanner(new StringReader(text));
+        int words = 0;
+        while (ts.advance()) {
+            if (ts.isWordToken()) {
+                words++;
+            }
+        }
+        return words;
+    }
+
+    @Benchmark
+    public int isWordCharacter() {
+        int words = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (TokenScanner.isWordCharacter(text.charAt(i))) {
+                words++;
+            }
+        }
+        return words;
+    }
+
+    /** La clasificación anterior a la tabla. */
+    @Benchmark
+    public int isLetter() {
+        int words = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c) || c == '\'') {
+                words++;
+            }
+        }
+        return words;
+    }
+
+}
@@ -0,0 +1,81 @@
+package edu.isistan.spellchecker.benchmarks;
+
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el TrieDictionary compacto (arreglos paralelos) contra la versión
+ * anterior con un arreglo de 27 hijos por nodo (PointerTrieDictionary):
+ * <ul>
+ * <li> buildDictionary: tiempo de construcción desde dictionary.txt
+ * <li> lookup: ns por consulta, mezclando palabras y no-palabras
+ * <li> memoria ocupada por el diccionario, que se imprime en el setup
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrieBenchmark {
+
+    @Param({"POINTER", "PACKED"})
+    private String trie;
+
+    private PointerTrieDictionary pointer;
+
+    private TrieDictionary packed;
+
+    private String[] words = {"abandon", "recieve", "liberty", "zymurgy", "thsi", "nation", "it's", "qwerty"};
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        long before = usedMemory();
+        Object dictionary = buildDictionary();
+        long after = usedMemory();
+        if (trie.equals("POINTER")) {
+            pointer = (PointerTrieDictionary) dictionary;
+        } else {
+            packed = (TrieDictionary) dictionary;
+            System.out.println("Nodos del Trie: " + packed.getNumNodes());
+        }
+        System.out.println("Memoria del diccionario (" + trie + "): " + (after - before) / 1024 + " KB");
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public Object buildDictionary() throws IOException {
+        if (trie.equals("POINTER")) {
+            return PointerTrieDictionary.make("dictionary.txt");
+        }
+        return TrieDictionary.make("dictionary.txt");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public int lookup() {
+        int hits = 0;
+        for (String word : words) {
+            if (pointer != null ? pointer.isWord(word) : packed.isWord(word)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+}
@@ -0,0 +1,112 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BloomFilterLexiconTest {
+
+	@Test public void testNoFalseNegatives() throws IOException {
+		Lexicon d = HashDictionary.make("dictionary.txt");
+		BloomFilterLexicon bloom = new BloomFilterLexicon(d, 0.01);
+		assertEquals(d.getNumWords(), bloom.getNumWords());
+		for (String word : d) {
+			assertTrue(word, bloom.mightContain(word, 0, word.length()));
+			assertTrue(word, bloom.mightContain(word.toUpperCase(), 0, word.length()));
+		}
+	}
+
+
+	@Test public void testFrequencies() throws IOException {
+		FrequencyDictionary d = FrequencyDictionary.load("smallFrequencies.txt");
+		BloomFilterLexicon bloom = new BloomFilterLexicon(d, 0.01);
+		assertEquals(120, bloom.getFrequency("Tea", 0, 3));
+		assertEquals(0, bloom.getFrequency("tez", 0, 3));
+		assertEquals(0, new BloomFilterLexicon(HashDictionary.make("smallDictionary.txt"), 0.01).getFrequency("tea", 0, 3));
+	}
+
+
+	@Test public void testFalsePositiveRate() throws IOException {
+		Lexicon d = HashDictionary.make("dictionary.txt");
+		BloomFilterLexicon bloom = new BloomFilterLexicon(d, 0.01);
+		Random random = new Random(42);
+		int tries = 0;
+		int falsePositives = 0;
+		char[] buffer = new char[8];
+		while (tries < 100000) {
+			int length = 3 + random.nextInt(buffer.length - 2);
+			for (int i = 0; i < length; i++) {
+				buffer[i] = (char) ('a' + random.nextInt(26));
+			}
+			String candidate = new String(buffer, 0, length);
+			if (d.isWord(candidate)) {
+				continue;
+			}
+			tries++;
+			if (bloom.mightContain(candidate, 0, length)) {
+				falsePositives++;
+			}
+			assertFalse(candidate, bloom.isWord(candidate));
+		}
+		// Los bloques suben un poco la tasa respecto de la teórica
+		assertTrue("tasa " + falsePositives / (double) tries, falsePositives < 2 * 0.01 * tries);
+	}
+
+
+	@Test public void testMemory() throws IOException {
+		Lexicon d = HashDictionary.make("dictionary.txt");
+		BloomFilterLexicon small = new BloomFilterLexicon(d, 4);
+		BloomFilterLexicon large = new BloomFilterLexicon(d, 16);
+		assertTrue(small.getSizeInBytes() * 8 >= 4L * d.getNumWords());
+		assertTrue(large.getSizeInBytes() * 8 >= 16L * d.getNumWords());
+		assertTrue(small.getNumHashes() < large.getNumHashes());
+		assertTrue(new BloomFilterLexicon(d, 0.001).getSizeInBytes() > new BloomFilterLexicon(d, 0.1).getSizeInBytes());
+	}
+
+
+	@Test public void testSameAnswers() throws IOException {
+		Lexicon d = Dictionary.make("smallDictionary.txt");
+		BloomFilterLexicon bloom = new BloomFilterLexicon(d, 1);
+		assertSame(d, bloom.getLexicon());
+		for (String word : new String[] { "apple", "APPLE", "banana", "pineapple", "it's", "a", "zzz" }) {
+			assertEquals(word, d.isWord(word), bloom.isWord(word));
+		}
+		assertTrue(bloom.isPrefix("ban"));
+		assertFalse(bloom.isWord(null));
+		assertFalse(bloom.isWord("xx apple", 3, 3));
+	}
+
+
+	@Test public void testEmpty() throws IOException {
+		BloomFilterLexicon bloom = new BloomFilterLexicon(new HashDictionary(), 0.01);
+		assertEquals(0, bloom.getNumWords());
+		assertFalse(bloom.isWord("apple"));
+	}
+
+
+	@Test public void testInvalid() throws IOException {
+		Lexicon d = Dictionary.make("smallDictionary.txt");
+		try {
+			new BloomFilterLexicon(null, 0.01);
+			fail("Expected an IllegalArgumentException - null dictionary.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new BloomFilterLexicon(d, 0.0);
+			fail("Expected an IllegalArgumentException - fpp 0.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new BloomFilterLexicon(d, 1.0);
+			fail("Expected an IllegalArgumentException - fpp 1.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new BloomFilterLexicon(d, 0);
+			fail("Expected an IllegalArgumentException - 0 bits.");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class DawgDictionaryTest {
+
+
+	private int countWords(TrieLexicon t, int state) {
+		int count = t.isFinal(state) ? 1 : 0;
+		for (int e = t.firstEdge(state); e != TrieLexicon.NONE; e = t.nextEdge(e)) {
+			count += countWords(t, t.edgeTarget(e));
+		}
+		return count;
+	}
+
+
+	@Test public void testSharesSuffixes() throws IOException {
+		TrieDictionary trie = new TrieDictionary(new TokenScanner(new StringReader(
+				"walk walking walked talk talking talked")));
+		DawgDictionary dawg = trie.minimize();
+		assertEquals(6, dawg.getNumWords());
+		assertTrue(dawg.isWord("Talking"));
+		assertTrue(dawg.isWord("walked"));
+		assertFalse(dawg.isWord("walkin"));
+		assertFalse(dawg.isWord("talks"));
+		assertTrue(dawg.isPrefix("wal"));
+		assertFalse(dawg.isPrefix("x"));
+		// w/t -> a -> l -> k -> {i -> n -> g, e -> d}: 9 estados en lugar de 19 nodos
+		assertEquals(19, trie.getNumNodes());
+		assertEquals(9, dawg.getNumStates());
+	}
+
+
+	@Test public void testSameWordsAsTrie() throws IOException {
+		TrieDictionary trie = TrieDictionary.make("dictionary.txt");
+		DawgDictionary dawg = trie.minimize();
+		assertEquals(trie.getNumWords(), dawg.getNumWords());
+		assertEquals(trie.getNumWords(), countWords(dawg, dawg.root()));
+		assertTrue(dawg.getNumStates() < trie.getNumNodes());
+
+		BufferedReader r = new BufferedReader(new FileReader("dictionary.txt"));
+		try {
+			String line;
+			while ((line = r.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty()) {
+					continue;
+				}
+				assertTrue(line, dawg.isWord(line));
+				assertEquals(line + "s", trie.isWord(line + "s"), dawg.isWord(line + "s"));
+				assertEquals(line.substring(1), trie.isPrefix(line.substring(1)), dawg.isPrefix(line.substring(1)));
+			}
+		} finally {
+			r.close();
+		}
+	}
+
+
+	@Test public void testTrieWalk() throws IOException {
+		TrieDictionary trie = TrieDictionary.make("smallDictionary.txt");
+		assertEquals(32, countWords(trie, trie.root()));
+		int e = trie.firstEdge(trie.root());
+		assertEquals('a', trie.edgeLabel(e)); // Los hermanos quedan ordenados por letra
+	}
+
+}
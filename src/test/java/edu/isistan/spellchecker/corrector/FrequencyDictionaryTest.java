@@ -0,0 +1,126 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.impl.DamerauLevenshtein;
+import edu.isistan.spellchecker.corrector.impl.SymSpellCorrector;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class FrequencyDictionaryTest {
+	private File invalid;
+
+
+	@Before public void setUp() throws IOException {
+		invalid = File.createTempFile("frequencies", ".txt");
+	}
+
+
+	@After public void tearDown() {
+		invalid.delete();
+	}
+
+
+	@Test public void testLoad() throws IOException {
+		FrequencyDictionary d = FrequencyDictionary.load("smallFrequencies.txt");
+		assertEquals(8, d.getNumWords());
+		assertEquals(120, d.getFrequency("tea"));
+		assertEquals(120, d.getFrequency("TEA"));
+		assertEquals(15, d.getFrequency("his")); // His y his se suman
+		assertEquals(40, d.getFrequency("it's"));
+		assertEquals(0, d.getFrequency("123"));
+		assertEquals(0, d.getFrequency("apple"));
+		assertEquals(0, d.getFrequency((String) null));
+		assertEquals(80, d.getFrequency("xx ten xx", 3, 6));
+		assertEquals(5000, d.getMaxFrequency());
+		assertEquals(5274, d.getTotalCount());
+		assertTrue(d.isWord("Tee"));
+		assertTrue(d.isPrefix("th"));
+	}
+
+
+	@Test public void testLoadWordList() throws IOException {
+		FrequencyDictionary d = FrequencyDictionary.load("smallDictionary.txt");
+		assertEquals(32, d.getNumWords());
+		assertEquals(2, d.getFrequency("his"));
+		assertEquals(1, d.getFrequency("banana"));
+	}
+
+
+	@Test public void testLoadInvalid() throws IOException {
+		Writer w = new FileWriter(invalid);
+		w.write("tea\t12\nten\tmany\n");
+		w.close();
+		try {
+			FrequencyDictionary.load(invalid.getPath());
+			fail("Expected an IOException - invalid count.");
+		} catch (IOException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			FrequencyDictionary.load("noSuchFile.txt");
+			fail("Expected a FileNotFoundException.");
+		} catch (FileNotFoundException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testCountCorpus() throws IOException {
+		FrequencyDictionary d = new FrequencyDictionary(new TokenScanner(new StringReader("The cat, the hat; THE end 42")));
+		assertEquals(4, d.getNumWords());
+		assertEquals(3, d.getFrequency("the"));
+		assertEquals(1, d.getFrequency("hat"));
+		assertEquals(0, d.getFrequency("42"));
+	}
+
+
+	@Test public void testCountOverDictionary() throws IOException {
+		FrequencyDictionary d = FrequencyDictionary.count(Dictionary.make("smallDictionary.txt"),
+				new TokenScanner(new StringReader("tea for two and tea for Ten, ten")));
+		assertEquals(32, d.getNumWords());
+		assertEquals(2, d.getFrequency("tea"));
+		assertEquals(2, d.getFrequency("ten"));
+		assertEquals(0, d.getFrequency("tee"));
+		assertFalse(d.isWord("for"));
+	}
+
+
+	@Test public void testNull() throws IOException {
+		try {
+			new FrequencyDictionary(null);
+			fail("Expected an IllegalArgumentException - null TokenScanner.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testRanking() throws IOException {
+		FrequencyDictionary d = FrequencyDictionary.load("smallFrequencies.txt");
+		List<Suggestion> suggestions = new DamerauLevenshtein(d).getSuggestions("Tez", 3);
+		assertEquals(3, suggestions.size());
+		assertEquals("Tea", suggestions.get(0).getWord());
+		assertEquals(120, suggestions.get(0).getFrequency());
+		assertEquals("Ten", suggestions.get(1).getWord());
+		assertEquals("Tee", suggestions.get(2).getWord());
+		// SymSpell corta al encontrar los más frecuentes a distancia 1, con el mismo resultado
+		assertEquals(suggestions, withSource(new SymSpellCorrector(d, 2).getSuggestions("Tez", 3), "DamerauLevenshtein"));
+	}
+
+
+	private List<Suggestion> withSource(List<Suggestion> suggestions, String source) {
+		List<Suggestion> result = new ArrayList<Suggestion>();
+		for (Suggestion s : suggestions) {
+			result.add(new Suggestion(s.getWord(), s.getCost(), s.getFrequency(), source));
+		}
+		return result;
+	}
+
+}
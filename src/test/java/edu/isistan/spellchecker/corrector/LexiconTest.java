@@ -0,0 +1,128 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class LexiconTest {
+
+
+	private List<Lexicon> makeAll(String filename) throws IOException {
+		return Arrays.<Lexicon>asList(
+				Dictionary.make(filename),
+				TrieDictionary.make(filename),
+				HashDictionary.make(filename),
+				FrequencyDictionary.load(filename),
+				new BloomFilterLexicon(Dictionary.make(filename), 0.01));
+	}
+
+
+	@Test public void testIsWord() throws IOException {
+		for (Lexicon d : makeAll("smallDictionary.txt")) {
+			String name = d.getClass().getSimpleName();
+			assertTrue(name + ": 'apple'", d.isWord("apple"));
+			assertTrue(name + ": 'BaNaNa'", d.isWord("BaNaNa"));
+			assertTrue(name + ": 'it's'", d.isWord("it's"));
+			assertFalse(name + ": 'pineapple'", d.isWord("pineapple"));
+			assertFalse(name + ": ''", d.isWord(""));
+			assertFalse(name + ": null", d.isWord(null));
+		}
+	}
+
+
+	@Test public void testIsWordRange() throws IOException {
+		CharSequence text = "xx BaNaNa, It's ";
+		for (Lexicon d : makeAll("smallDictionary.txt")) {
+			String name = d.getClass().getSimpleName();
+			assertTrue(name + ": 'BaNaNa'", d.isWord(text, 3, 9));
+			assertTrue(name + ": 'It's'", d.isWord(text, 11, 15));
+			assertFalse(name + ": 'BaNaN'", d.isWord(text, 3, 8));
+			assertFalse(name + ": 'BaNaNa,'", d.isWord(text, 3, 10));
+			assertFalse(name + ": ''", d.isWord(text, 3, 3));
+		}
+	}
+
+
+	@Test public void testIterator() throws IOException {
+		List<Lexicon> all = new ArrayList<Lexicon>(makeAll("smallDictionary.txt"));
+		all.add(TrieDictionary.make("smallDictionary.txt").minimize());
+		for (Lexicon d : all) {
+			String name = d.getClass().getSimpleName();
+			Set<String> words = new HashSet<String>();
+			for (String word : d) {
+				assertTrue(name + ": " + word, d.isWord(word));
+				assertEquals(name + ": " + word, word.toLowerCase(), word);
+				words.add(word);
+			}
+			assertEquals(name, 32, words.size());
+			assertTrue(name, words.contains("it's"));
+		}
+	}
+
+
+	@Test public void testNumWords() throws IOException {
+		for (Lexicon d : makeAll("smallDictionary.txt")) {
+			assertEquals(d.getClass().getSimpleName(), 32, d.getNumWords());
+		}
+	}
+
+
+	@Test public void testIsPrefix() throws IOException {
+		for (Lexicon d : makeAll("smallDictionary.txt")) {
+			String name = d.getClass().getSimpleName();
+			assertTrue(name + ": 'app'", d.isPrefix("app"));
+			assertTrue(name + ": 'APPLE'", d.isPrefix("APPLE"));
+			assertTrue(name + ": ''", d.isPrefix(""));
+			assertFalse(name + ": 'apples'", d.isPrefix("apples"));
+			assertFalse(name + ": 'x'", d.isPrefix("x"));
+			assertFalse(name + ": 'a\u00f1o'", d.isPrefix("a\u00f1o"));
+			assertFalse(name + ": null", d.isPrefix(null));
+		}
+	}
+
+
+	@Test public void testAccentedLetters() throws IOException {
+		String words = "a\u00f1o \u00d1and\u00fa canci\u00f3n";
+		List<Lexicon> all = Arrays.<Lexicon>asList(
+				new Dictionary(new TokenScanner(new StringReader(words))),
+				new TrieDictionary(new TokenScanner(new StringReader(words))),
+				new HashDictionary(new TokenScanner(new StringReader(words))));
+		for (Lexicon d : all) {
+			String name = d.getClass().getSimpleName();
+			assertEquals(name, 3, d.getNumWords());
+			assertTrue(name + ": 'A\u00d1O'", d.isWord("A\u00d1O"));
+			assertTrue(name + ": '\u00f1and\u00fa'", d.isWord("\u00f1and\u00fa"));
+			assertTrue(name + ": 'canci'", d.isPrefix("canci"));
+			assertFalse(name + ": 'ano'", d.isWord("ano"));
+		}
+	}
+
+
+	@Test public void testConstructorInvalidTokenScanner() throws IOException {
+		try {
+			new HashDictionary((TokenScanner) null);
+			fail("Expected IllegalArgumentException - null TokenScanner");
+		} catch (IllegalArgumentException e) {
+			//Do nothing - it's supposed to throw this
+		}
+	}
+
+
+	@Test public void testSwapCorrectorAnyBackend() throws IOException {
+		for (Lexicon d : makeAll("smallDictionary.txt")) {
+			SwapCorrector swap = new SwapCorrector(d);
+			assertEquals(d.getClass().getSimpleName(), 1, swap.getCorrections("cya").size());
+			assertTrue(d.getClass().getSimpleName(), swap.getCorrections("cya").contains("cay"));
+		}
+	}
+
+}
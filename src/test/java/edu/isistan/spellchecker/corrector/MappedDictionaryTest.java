@@ -0,0 +1,82 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedDictionaryTest {
+	private File compiled;
+
+
+	@Before public void setUp() throws IOException {
+		compiled = File.createTempFile("dictionary", ".bin");
+	}
+
+
+	@After public void tearDown() {
+		compiled.delete();
+	}
+
+
+	@Test public void testSmallDictionary() throws IOException {
+		MappedDictionary.compile("smallDictionary.txt", compiled.getPath());
+		MappedDictionary d = MappedDictionary.open(compiled.getPath());
+		assertEquals(32, d.getNumWords());
+		assertTrue("'apple' -> should be true ('apple' in file)", d.isWord("apple"));
+		assertTrue("'Banana' -> should be true ('banana' in file)", d.isWord("Banana"));
+		assertTrue("'it's' -> should be true ('it's' in file)", d.isWord("it's"));
+		assertFalse("'pineapple' -> should be false", d.isWord("pineapple"));
+		assertFalse("'' -> should be false", d.isWord(""));
+		assertFalse("null -> should be false", d.isWord(null));
+		assertTrue(d.isWord("xx TEA xx", 3, 6));
+		assertTrue(d.isPrefix("ban"));
+		assertTrue(d.isPrefix(""));
+		assertFalse(d.isPrefix("bananas"));
+		assertFalse(d.isPrefix("zz"));
+		int count = 0;
+		String previous = "";
+		for (String word : d) {
+			assertTrue(word, previous.compareTo(word) < 0);
+			previous = word;
+			count++;
+		}
+		assertEquals(32, count);
+	}
+
+
+	@Test public void testSameWordsAsDictionary() throws IOException {
+		MappedDictionary.compile("dictionary.txt", compiled.getPath());
+		MappedDictionary mapped = MappedDictionary.open(compiled.getPath());
+		Dictionary dict = Dictionary.make("dictionary.txt");
+		assertEquals(dict.getNumWords(), mapped.getNumWords());
+
+		BufferedReader r = new BufferedReader(new FileReader("dictionary.txt"));
+		try {
+			String line;
+			while ((line = r.readLine()) != null) {
+				line = line.trim();
+				assertEquals(line, dict.isWord(line), mapped.isWord(line));
+				assertEquals(line + "x", dict.isWord(line + "x"), mapped.isWord(line + "x"));
+			}
+		} finally {
+			r.close();
+		}
+	}
+
+
+	@Test public void testInvalidFile() throws IOException {
+		Writer w = new FileWriter(compiled);
+		w.write("apple\nbanana\n");
+		w.close();
+		try {
+			MappedDictionary.open(compiled.getPath());
+			fail("Expected IOException - not a compiled dictionary");
+		} catch (IOException e) {
+			// do nothing
+		}
+	}
+
+}
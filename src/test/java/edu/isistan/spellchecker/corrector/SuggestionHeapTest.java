@@ -0,0 +1,86 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+
+public class SuggestionHeapTest {
+
+
+	@Test public void testInvalid() {
+		try {
+			new SuggestionHeap(0);
+			fail("Expected an IllegalArgumentException - k 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new Suggestion(null, 1, 0, "x");
+			fail("Expected an IllegalArgumentException - null word.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testOrder() {
+		Suggestion a = new Suggestion("zeta", 1, 10, "x");
+		Suggestion b = new Suggestion("alfa", 1, 5, "x");
+		Suggestion c = new Suggestion("beta", 1, 5, "x");
+		Suggestion d = new Suggestion("alfa", 2, 99, "x");
+		List<Suggestion> list = new ArrayList<Suggestion>(Arrays.asList(d, c, b, a));
+		Collections.sort(list);
+		assertEquals(Arrays.asList(a, b, c, d), list);
+	}
+
+
+	@Test public void testTopK() {
+		Random random = new Random(42);
+		List<Suggestion> all = new ArrayList<Suggestion>();
+		SuggestionHeap heap = new SuggestionHeap(5);
+		for (int i = 0; i < 200; i++) {
+			Suggestion s = new Suggestion("w" + i, random.nextInt(3), random.nextInt(4), "x");
+			all.add(s);
+			heap.offer(s);
+		}
+		Collections.sort(all);
+		assertTrue(heap.isFull());
+		assertEquals(all.subList(0, 5), heap.toList());
+		assertEquals(all.get(4), heap.worst());
+		assertFalse(heap.accepts(all.get(4).getCost() + 1, 0));
+	}
+
+
+	@Test public void testKeepsBestOfSameWord() {
+		SuggestionHeap heap = new SuggestionHeap(3);
+		heap.offer(new Suggestion("tea", 2, 0, "lev"));
+		heap.offer(new Suggestion("ten", 2, 0, "lev"));
+		assertTrue(heap.offer(new Suggestion("tea", 1, 0, "swap")));
+		assertFalse(heap.offer(new Suggestion("ten", 3, 0, "swap")));
+		assertEquals(Arrays.asList(new Suggestion("tea", 1, 0, "swap"), new Suggestion("ten", 2, 0, "lev")),
+				heap.toList());
+	}
+
+
+	@Test public void testDefaultSuggestions() throws IOException {
+		SwapCorrector swap = new SwapCorrector(Dictionary.make("smallDictionary.txt"));
+		List<Suggestion> suggestions = swap.getSuggestions("Cya", 3);
+		assertEquals(1, suggestions.size());
+		assertEquals(new Suggestion("Cay", 1, 0, "SwapCorrector"), suggestions.get(0));
+		try {
+			swap.getSuggestions("cya", 0);
+			fail("Expected an IllegalArgumentException - k 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+
+public class BKTreeCorrectorTest {
+	private File saved;
+
+
+	@Before public void setUp() throws IOException {
+		saved = File.createTempFile("bktree", ".bin");
+	}
+
+
+	@After public void tearDown() {
+		saved.delete();
+	}
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Test public void testConstructorInvalid() throws IOException {
+		try {
+			new BKTreeCorrector(null, 1);
+			fail("Expected an IllegalArgumentException - null dictionary.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new BKTreeCorrector(Dictionary.make("smallDictionary.txt"), 0);
+			fail("Expected an IllegalArgumentException - distance 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testCorrections() throws IOException {
+		BKTreeCorrector corr = new BKTreeCorrector(Dictionary.make("smallDictionary.txt"), 1);
+		assertEquals(32, corr.getNumNodes());
+		assertEquals("h -> {a, i, ah, eh, th}",
+				makeSet(new String[]{"a", "i", "ah", "eh", "th"}),
+				corr.getCorrections("h"));
+		assertEquals("H -> {A, I, Ah, Eh, Th}",
+				makeSet(new String[]{"A", "I", "Ah", "Eh", "Th"}),
+				corr.getCorrections("H"));
+		assertEquals("apple -> {}", makeSet(new String[]{}), corr.getCorrections("apple"));
+		assertEquals("bamama (2) -> {banana}", makeSet(new String[]{"banana"}), corr.getCorrections("bamama", 2));
+	}
+
+
+	@Test public void testSameAsTrieLevenshtein() throws IOException {
+		TrieDictionary trie = TrieDictionary.make("dictionary.txt");
+		BKTreeCorrector tree = new BKTreeCorrector(trie, 1);
+		for (int distance = 1; distance <= 3; distance++) {
+			Levenshtein lev = new Levenshtein(trie, distance);
+			for (String word : new String[]{"recieve", "Definately", "thsi", "goverment", "libery", "it"}) {
+				assertEquals(word + " (" + distance + ")", lev.getCorrections(word), tree.getCorrections(word, distance));
+			}
+		}
+	}
+
+
+	@Test public void testSaveAndLoad() throws IOException {
+		BKTreeCorrector tree = new BKTreeCorrector(Dictionary.make("dictionary.txt"), 2);
+		tree.save(saved.getPath());
+		BKTreeCorrector loaded = BKTreeCorrector.load(saved.getPath(), 2);
+		assertEquals(tree.getNumNodes(), loaded.getNumNodes());
+		assertEquals(2, loaded.getMaxDistance());
+		for (String word : new String[]{"recieve", "Definately", "thsi", "goverment", "libery", "it"}) {
+			assertEquals(word, tree.getCorrections(word), loaded.getCorrections(word));
+		}
+	}
+
+
+	@Test public void testLoadInvalid() throws IOException {
+		try {
+			BKTreeCorrector.load("smallDictionary.txt", 1);
+			fail("Expected an IOException - not a BK-tree.");
+		} catch (IOException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		new BKTreeCorrector(Dictionary.make("smallDictionary.txt"), 1).save(saved.getPath());
+		RandomAccessFile file = new RandomAccessFile(saved, "rw");
+		file.setLength(file.length() - 3);
+		file.close();
+		try {
+			BKTreeCorrector.load(saved.getPath(), 1);
+			fail("Expected an IOException - truncated file.");
+		} catch (IOException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testNull() throws IOException {
+		try {
+			new BKTreeCorrector(Dictionary.make("smallDictionary.txt"), 1).getCorrections(null);
+			fail("Should have thrown an illegal argument exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+
+
+	// Las k primeras correcciones ordenadas por distancia y luego alfabéticamente
+	private List<String> ranked(Set<String> corrections, String wrong, int k) {
+		List<String> sorted = new ArrayList<String>(corrections);
+		Collections.sort(sorted);
+		List<String> result = new ArrayList<String>();
+		for (int d = 1; d <= 3; d++) {
+			for (String word : sorted) {
+				if (EditDistance.levenshtein(wrong, word) == d && result.size() < k) {
+					result.add(word);
+				}
+			}
+		}
+		return result;
+	}
+
+
+	private List<String> words(List<Suggestion> suggestions) {
+		List<String> words = new ArrayList<String>();
+		for (Suggestion suggestion : suggestions) {
+			words.add(suggestion.getWord());
+		}
+		return words;
+	}
+
+
+	@Test public void testSuggestions() throws IOException {
+		BKTreeCorrector corr = new BKTreeCorrector(TrieDictionary.make("dictionary.txt"), 2);
+		for (String word : new String[]{"aple", "Recieve", "thsi", "libery"}) {
+			for (int k : new int[]{1, 3, 10}) {
+				assertEquals(word + " " + k, ranked(corr.getCorrections(word), word, k), words(corr.getSuggestions(word, k)));
+			}
+		}
+		assertTrue(corr.getSuggestions("apple", 5).isEmpty());
+	}
+}
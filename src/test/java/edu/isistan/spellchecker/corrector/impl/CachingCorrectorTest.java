@@ -0,0 +1,195 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.FrequencyDictionary;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+
+public class CachingCorrectorTest {
+
+	// Cuenta cuántas veces se invoca al corrector decorado
+	private static class CountingCorrector extends Corrector {
+		private final Corrector corrector;
+		private final AtomicInteger calls = new AtomicInteger();
+
+		CountingCorrector(Corrector corrector) {
+			this.corrector = corrector;
+		}
+
+		public Set<String> getCorrections(String wrong) {
+			calls.incrementAndGet();
+			return corrector.getCorrections(wrong);
+		}
+	}
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Test public void testConstructorInvalid() throws IOException {
+		try {
+			new CachingCorrector(null, 10);
+			fail("Expected an IllegalArgumentException - null corrector.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new CachingCorrector(new SwapCorrector(Dictionary.make("smallDictionary.txt")), 0);
+			fail("Expected an IllegalArgumentException - capacity 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testHitsReapplyCase() throws IOException {
+		CountingCorrector counting = new CountingCorrector(new SwapCorrector(Dictionary.make("smallDictionary.txt")));
+		CachingCorrector cache = new CachingCorrector(counting, 10);
+		assertEquals(makeSet(new String[]{"cay"}), cache.getCorrections("cya"));
+		assertEquals(makeSet(new String[]{"Cay"}), cache.getCorrections("Cya"));
+		assertEquals(makeSet(new String[]{"cay"}), cache.getCorrections("cYA"));
+		assertEquals(1, counting.calls.get());
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+	}
+
+
+	@Test public void testKeyIgnoresDefaultLocale() throws IOException {
+		CountingCorrector counting = new CountingCorrector(new SwapCorrector(Dictionary.make("smallDictionary.txt")));
+		CachingCorrector cache = new CachingCorrector(counting, 10);
+		Locale locale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			cache.getCorrections("tihs");
+			cache.getCorrections("TIHS");
+		} finally {
+			Locale.setDefault(locale);
+		}
+		assertEquals(1, counting.calls.get());
+	}
+
+
+	@Test public void testSuggestionsKeepTheirOrder() throws IOException {
+		FrequencyDictionary frequencies = FrequencyDictionary.load("smallFrequencies.txt");
+		Corrector[] correctors = {
+				new DamerauLevenshtein(frequencies),
+				new SymSpellCorrector(frequencies, 2),
+				new Levenshtein(TrieDictionary.make("smallDictionary.txt"), 2) };
+		for (Corrector corrector : correctors) {
+			CachingCorrector cache = new CachingCorrector(corrector, 10);
+			for (String word : new String[]{"tez", "Tez", "TEZ", "aple", "Aple"}) {
+				for (int k : new int[]{1, 3, 2, 10}) {
+					List<Suggestion> expected = corrector.getSuggestions(word, k);
+					assertEquals(word + " " + k, expected, cache.getSuggestions(word, k));
+					assertEquals(word + " " + k, expected, cache.getSuggestions(word, k));
+				}
+			}
+		}
+	}
+
+
+	@Test public void testSuggestionsCached() throws IOException {
+		final AtomicInteger calls = new AtomicInteger();
+		final DamerauLevenshtein damerau = new DamerauLevenshtein(FrequencyDictionary.load("smallFrequencies.txt"));
+		Corrector counting = new Corrector() {
+			public Set<String> getCorrections(String wrong) {
+				return damerau.getCorrections(wrong);
+			}
+
+			public List<Suggestion> getSuggestions(String wrong, int k) {
+				calls.incrementAndGet();
+				return damerau.getSuggestions(wrong, k);
+			}
+		};
+		CachingCorrector cache = new CachingCorrector(counting, 10);
+		assertEquals("Tea", cache.getSuggestions("Tez", 3).get(0).getWord());
+		assertEquals("tea", cache.getSuggestions("tez", 1).get(0).getWord());
+		assertEquals(1, calls.get());
+		cache.getSuggestions("tez", 5); // Se pidieron más que las guardadas
+		assertEquals(2, calls.get());
+		assertEquals(1, cache.getHits());
+	}
+
+
+	@Test public void testLruEviction() throws IOException {
+		CountingCorrector counting = new CountingCorrector(new SwapCorrector(Dictionary.make("smallDictionary.txt")));
+		CachingCorrector cache = new CachingCorrector(counting, 2);
+		cache.getCorrections("cya");
+		cache.getCorrections("oyurs");
+		cache.getCorrections("cya"); // oyurs pasa a ser la menos usada
+		cache.getCorrections("haet");
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		cache.getCorrections("cya");
+		assertEquals(3, counting.calls.get());
+		cache.getCorrections("oyurs");
+		assertEquals(4, counting.calls.get());
+	}
+
+
+	@Test public void testInvalidNotCached() throws IOException {
+		CachingCorrector cache = new CachingCorrector(new SwapCorrector(Dictionary.make("smallDictionary.txt")), 10);
+		for (String wrong : new String[]{null, "", "123"}) {
+			try {
+				cache.getCorrections(wrong);
+				fail("Should have thrown an illegal argument exception: " + wrong);
+			} catch (IllegalArgumentException e) {
+				// do nothing
+			}
+		}
+		assertEquals(0, cache.size());
+	}
+
+
+	@Test public void testConcurrentAccess() throws Exception {
+		final Levenshtein lev = new Levenshtein(Dictionary.make("smallDictionary.txt"));
+		final CachingCorrector cache = new CachingCorrector(lev, 4);
+		final String[] words = {"cya", "haet", "h", "oyurs", "appel", "banan"};
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(new Runnable() {
+				public void run() {
+					try {
+						for (int i = 0; i < 500; i++) {
+							String word = words[i % words.length];
+							assertEquals(word, lev.getCorrections(word), cache.getCorrections(word));
+						}
+					} catch (Throwable e) {
+						synchronized (errors) {
+							errors.add(e);
+						}
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.toString(), errors.isEmpty());
+		assertEquals(2000, cache.getHits() + cache.getMisses());
+		assertTrue(cache.size() <= 4);
+	}
+
+}
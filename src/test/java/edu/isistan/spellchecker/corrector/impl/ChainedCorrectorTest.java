@@ -0,0 +1,168 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+
+public class ChainedCorrectorTest {
+	private Dictionary dict;
+	private ExecutorService executor;
+
+	// Cuenta cuántas veces se invoca al corrector decorado
+	private static class CountingCorrector extends Corrector {
+		private final Corrector corrector;
+		private int calls;
+
+		CountingCorrector(Corrector corrector) {
+			this.corrector = corrector;
+		}
+
+		public synchronized Set<String> getCorrections(String wrong) {
+			calls++;
+			return corrector.getCorrections(wrong);
+		}
+	}
+
+
+	@Before public void setUp() throws IOException {
+		dict = Dictionary.make("smallDictionary.txt");
+		executor = Executors.newFixedThreadPool(3);
+	}
+
+
+	@After public void tearDown() {
+		executor.shutdown();
+	}
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Test public void testConstructorInvalid() {
+		List<Corrector> empty = Collections.emptyList();
+		List<Corrector> withNull = Arrays.asList(new SwapCorrector(dict), null);
+		List<Corrector> valid = Arrays.<Corrector>asList(new SwapCorrector(dict));
+		try {
+			new ChainedCorrector(empty, 1);
+			fail("Expected an IllegalArgumentException - no stages.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new ChainedCorrector(withNull, 1);
+			fail("Expected an IllegalArgumentException - null stage.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new ChainedCorrector(valid, 0);
+			fail("Expected an IllegalArgumentException - minSuggestions 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new ChainedCorrector(valid, (ExecutorService) null);
+			fail("Expected an IllegalArgumentException - null executor.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testStopsAtFirstStage() throws IOException, FileCorrector.FormatException {
+		CountingCorrector file = new CountingCorrector(FileCorrector.make("smallMisspellings.txt"));
+		CountingCorrector lev = new CountingCorrector(new Levenshtein(dict));
+		ChainedCorrector chain = new ChainedCorrector(Arrays.<Corrector>asList(file, lev), 1);
+		assertEquals(makeSet(new String[]{"Goose"}), chain.getCorrections("Gose"));
+		assertEquals(1, file.calls);
+		assertEquals(0, lev.calls);
+	}
+
+
+	@Test public void testFallsThrough() throws IOException, FileCorrector.FormatException {
+		CountingCorrector file = new CountingCorrector(FileCorrector.make("smallMisspellings.txt"));
+		CountingCorrector swap = new CountingCorrector(new SwapCorrector(dict));
+		CountingCorrector lev = new CountingCorrector(new Levenshtein(dict));
+		ChainedCorrector chain = new ChainedCorrector(Arrays.<Corrector>asList(file, swap, lev), 1);
+		assertEquals(makeSet(new String[]{"cay"}), chain.getCorrections("cya"));
+		assertEquals(0, lev.calls);
+		assertEquals(makeSet(new String[]{"a", "ah", "eh", "i", "th"}), chain.getCorrections("h"));
+		assertEquals(1, lev.calls);
+	}
+
+
+	@Test public void testMinSuggestions() {
+		SwapCorrector swap = new SwapCorrector(dict);
+		Levenshtein lev = new Levenshtein(dict);
+		ChainedCorrector chain = new ChainedCorrector(Arrays.<Corrector>asList(swap, lev), 2);
+		Set<String> union = new TreeSet<String>(swap.getCorrections("cya"));
+		union.addAll(lev.getCorrections("cya"));
+		assertEquals(union, chain.getCorrections("cya"));
+	}
+
+
+	@Test public void testParallelIsUnion() throws IOException, FileCorrector.FormatException {
+		List<Corrector> stages = new ArrayList<Corrector>();
+		stages.add(FileCorrector.make("smallMisspellings.txt"));
+		stages.add(new SwapCorrector(dict));
+		stages.add(new Levenshtein(dict));
+		ChainedCorrector chain = new ChainedCorrector(stages, executor);
+		assertEquals(3, chain.getNumStages());
+		for (String word : new String[]{"gose", "cya", "h", "Haet", "Lyon"}) {
+			Set<String> union = new TreeSet<String>();
+			for (Corrector stage : stages) {
+				union.addAll(stage.getCorrections(word));
+			}
+			assertEquals(word, union, chain.getCorrections(word));
+		}
+	}
+
+
+	@Test public void testParallelInvalid() {
+		ChainedCorrector chain = new ChainedCorrector(Arrays.<Corrector>asList(new SwapCorrector(dict)), executor);
+		try {
+			chain.getCorrections("123");
+			fail("Should have thrown an illegal argument exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+
+	@Test public void testSuggestions() throws IOException {
+		TrieDictionary trie = TrieDictionary.make("smallDictionary.txt");
+		List<Corrector> stages = Arrays.<Corrector>asList(new SwapCorrector(trie), new Levenshtein(trie, 2));
+		ChainedCorrector sequential = new ChainedCorrector(stages, 1);
+		ChainedCorrector parallel = new ChainedCorrector(stages, executor);
+		// La etapa barata alcanza
+		assertEquals(Arrays.asList(new Suggestion("cay", 1, 0, "SwapCorrector")), sequential.getSuggestions("cya", 3));
+		// En paralelo se unen, y "cay" queda con la sugerencia de menor costo
+		List<Suggestion> merged = parallel.getSuggestions("cya", 3);
+		assertEquals(3, merged.size());
+		assertEquals("cay", merged.get(0).getWord());
+		assertEquals(1, merged.get(0).getCost());
+	}
+
+}
@@ -0,0 +1,69 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.TreeSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.HashDictionary;
+import edu.isistan.spellchecker.corrector.Lexicon;
+
+public class DamerauLevenshteinTest {
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Test public void testConstructorInvalid() {
+		try {
+			new DamerauLevenshtein(null);
+			fail("Expected an IllegalArgumentException - null dictionary.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testCorrections() throws IOException {
+		DamerauLevenshtein corr = new DamerauLevenshtein(Dictionary.make("smallDictionary.txt"));
+		assertEquals("cya -> {cay}", makeSet(new String[]{"cay"}), corr.getCorrections("cya"));
+		assertEquals("oYurs -> {yours}", makeSet(new String[]{"yours"}), corr.getCorrections("oYurs"));
+		assertEquals("H -> {A, Ah, Eh, I, Th}",
+				makeSet(new String[]{"A", "Ah", "Eh", "I", "Th"}),
+				corr.getCorrections("H"));
+		assertEquals("apple -> {}", makeSet(new String[]{}), corr.getCorrections("apple"));
+	}
+
+
+	@Test public void testSameAsSwapAndLevenshtein() throws IOException {
+		Lexicon dict = HashDictionary.make("dictionary.txt");
+		DamerauLevenshtein corr = new DamerauLevenshtein(dict);
+		SwapCorrector swap = new SwapCorrector(dict);
+		Levenshtein lev = new Levenshtein(dict);
+		for (String word : new String[]{"thsi", "Teh", "recieve", "wierd", "aabb", "lettter", "oof", "a", "isn't", "Nation"}) {
+			Set<String> union = new TreeSet<String>(swap.getCorrections(word));
+			union.addAll(lev.getCorrections(word));
+			assertEquals(word, union, corr.getCorrections(word));
+		}
+	}
+
+
+	@Test public void testNull() throws IOException {
+		try {
+			new DamerauLevenshtein(Dictionary.make("smallDictionary.txt")).getCorrections(null);
+			fail("Should have thrown an illegal argument exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+}
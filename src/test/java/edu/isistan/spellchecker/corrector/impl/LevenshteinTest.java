@@ -1,8 +1,13 @@
 package edu.isistan.spellchecker.corrector.impl;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.TreeSet;
 import java.util.Set;
 
@@ -13,6 +18,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
 import edu.isistan.spellchecker.corrector.impl.Levenshtein;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
@@ -84,6 +91,56 @@ public class LevenshteinTest {
 	}
 
 
+	@Test public void testSubstitutionLastLetter() throws IOException {
+		Dictionary dict = new Dictionary(new TokenScanner(new StringReader("zoo buzz")));
+		Levenshtein lev = new Levenshtein(dict);
+		assertEquals("yoo -> {zoo}", makeSet(new String[]{"zoo"}), lev.getSubstitutions("yoo"));
+		assertEquals("buz -> {buzz}", makeSet(new String[]{"buzz"}), lev.getInsertions("buz"));
+	}
+
+
+	@Test public void testTrieSameAsBruteForce() throws IOException {
+		Levenshtein trie = new Levenshtein(TrieDictionary.make("smallDictionary.txt"), 1);
+		String[] words = {"h", "H", "teh", "ay", "cya", "hre", "appel", "Yuors"};
+		for (String word : words) {
+			assertEquals(word, corr.getCorrections(word), trie.getCorrections(word));
+		}
+	}
+
+
+	@Test public void testTrieDistanceTwo() throws IOException {
+		Levenshtein trie = new Levenshtein(TrieDictionary.make("smallDictionary.txt"), 2);
+		assertEquals("aple -> {apple, aye}", makeSet(new String[]{"apple", "aye"}), trie.getCorrections("aple"));
+		assertEquals("bamama -> {banana}", makeSet(new String[]{"banana"}), trie.getCorrections("bamama"));
+		assertEquals("Carot -> {Carrot}", makeSet(new String[]{"Carrot"}), trie.getCorrections("Carot"));
+		assertEquals("apple -> {}", makeSet(new String[]{}), trie.getCorrections("apple"));
+	}
+
+
+	@Test public void testTrieIgnoresDefaultLocale() throws IOException {
+		Levenshtein trie = new Levenshtein(TrieDictionary.make("smallDictionary.txt"), 1);
+		Set<String> expected = trie.getCorrections("HIX");
+		assertTrue(expected.contains("His"));
+		Locale locale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			assertEquals(expected, trie.getCorrections("HIX"));
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+
+
+	@Test public void testTrieInvalidDistance() throws IOException {
+		try {
+			new Levenshtein(TrieDictionary.make("smallDictionary.txt"), 0);
+			fail("Expected an IllegalArgumentException - distance 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
 	@Test public void testNull() throws IOException {
 		try {
 			assertEquals(" null -> illegal argument", new TreeSet<String>(), 
@@ -94,4 +151,44 @@ public class LevenshteinTest {
 		}
 	}
 
+
+
+	// Las k primeras correcciones ordenadas por distancia y luego alfabéticamente
+	private List<String> ranked(Set<String> corrections, String wrong, int k) {
+		List<String> sorted = new ArrayList<String>(corrections);
+		Collections.sort(sorted);
+		List<String> result = new ArrayList<String>();
+		for (int d = 1; d <= 3; d++) {
+			for (String word : sorted) {
+				if (EditDistance.levenshtein(wrong, word) == d && result.size() < k) {
+					result.add(word);
+				}
+			}
+		}
+		return result;
+	}
+
+
+	private List<String> words(List<Suggestion> suggestions) {
+		List<String> words = new ArrayList<String>();
+		for (Suggestion suggestion : suggestions) {
+			words.add(suggestion.getWord());
+		}
+		return words;
+	}
+
+
+	@Test public void testTrieSuggestions() throws IOException {
+		Levenshtein lev = new Levenshtein(TrieDictionary.make("dictionary.txt"), 2);
+		for (String word : new String[]{"aple", "Recieve", "thsi", "libery"}) {
+			for (int k : new int[]{1, 3, 10}) {
+				List<Suggestion> suggestions = lev.getSuggestions(word, k);
+				assertEquals(word + " " + k, ranked(lev.getCorrections(word), word, k), words(suggestions));
+				for (int i = 1; i < suggestions.size(); i++) {
+					assertTrue(suggestions.get(i - 1).getCost() <= suggestions.get(i).getCost());
+				}
+			}
+		}
+		assertTrue(lev.getSuggestions("apple", 5).isEmpty());
+	}
 }
@@ -1,9 +1,11 @@
 package edu.isistan.spellchecker.corrector.impl;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -11,17 +13,32 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 
 
 import org.junit.Test;
 
+import edu.isistan.spellchecker.CorrectionPolicy;
+import edu.isistan.spellchecker.CorrectionSession;
+import edu.isistan.spellchecker.Misspelling;
 import edu.isistan.spellchecker.SpellChecker;
 import edu.isistan.spellchecker.corrector.Corrector;
 import edu.isistan.spellchecker.corrector.Dictionary;
 import edu.isistan.spellchecker.corrector.impl.FileCorrector;
 import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 
 public class SpellCheckerTest {
@@ -84,6 +101,204 @@ public class SpellCheckerTest {
 
 
 
+	private static String correct(SpellChecker sc, String doc, CorrectionPolicy policy, int misspellings)
+			throws IOException {
+		StringWriter out = new StringWriter();
+		List<Misspelling> found = sc.correctDocument(new TokenScanner(new StringReader(doc)), out, policy);
+		assertEquals(misspellings, found.size());
+		return out.toString();
+	}
+
+
+	@Test public void testCorrectDocument() throws IOException, FileCorrector.FormatException {
+		SpellChecker sc = new SpellChecker(FileCorrector.make("theFoxMisspellings.txt"), Dictionary.make("theFoxDictionary.txt"));
+		String fox = "Tghe qiuck 45 brown Fox jumped over $ tje lazy Doggs.";
+		assertEquals("The quick 45 brown Fox jumped over $ the lazy Doggs.", correct(sc, fox, CorrectionPolicy.AUTO, 5));
+		assertEquals(fox, correct(sc, fox, CorrectionPolicy.REPORT, 5));
+		assertEquals("The quick 45 brown Fox jumped over $ the lazy Doggs.", correct(sc, fox, CorrectionPolicy.UNIQUE, 5));
+		// teh tiene dos correcciones: the y tehe
+		assertEquals("Tehe fox\ntehe", correct(sc, "Teh fox\nteh", CorrectionPolicy.AUTO, 2));
+		assertEquals("Teh fox\nteh", correct(sc, "Teh fox\nteh", CorrectionPolicy.UNIQUE, 2));
+
+		List<Misspelling> found = sc.correctDocument(new TokenScanner(new StringReader("fox\n  teh")), new StringWriter(),
+				CorrectionPolicy.REPORT);
+		assertEquals(new Misspelling("teh", 6, 2, 3, Arrays.asList("tehe", "the")), found.get(0));
+	}
+
+
+	@Test public void testCorrectDocumentUniqueWithOneSuggestion() throws IOException, FileCorrector.FormatException {
+		SpellChecker sc = new SpellChecker(FileCorrector.make("theFoxMisspellings.txt"), Dictionary.make("theFoxDictionary.txt"), 1);
+		assertEquals("teh the", correct(sc, "teh tje", CorrectionPolicy.UNIQUE, 2));
+		assertTrue(Arrays.asList("the", "tehe").contains(correct(sc, "teh", CorrectionPolicy.AUTO, 1)));
+	}
+
+
+	@Test public void testCheckDocumentWithSession() throws IOException, FileCorrector.FormatException {
+		SpellChecker sc = new SpellChecker(FileCorrector.make("theFoxMisspellings.txt"), Dictionary.make("theFoxDictionary.txt"));
+		String doc = "Teh fox teh teh qiuck, qiuck teh tje.";
+		// teh: 2 tehe, 3 the, 4 ignorar todas, 5 reemplazar todas; qiuck: 2 quick, 3 ignorar todas; tje: 2 the
+		String choices = "5 the 3 2";
+		CorrectionSession session = new CorrectionSession();
+		StringWriter out = new StringWriter();
+		sc.checkDocument(new TokenScanner(new StringReader(doc)), new ByteArrayInputStream(choices.getBytes(StandardCharsets.UTF_8)),
+				out, session);
+		assertEquals("the fox the the qiuck, qiuck the the.", out.toString());
+		assertEquals(2, session.size());
+
+		// Con la sesion ya cargada solo se pregunta por tje; Teh lleva mayuscula
+		out = new StringWriter();
+		sc.checkDocument(new TokenScanner(new StringReader(doc)), new ByteArrayInputStream("0".getBytes(StandardCharsets.UTF_8)),
+				out, session);
+		assertEquals("The fox the the qiuck, qiuck the tje.", out.toString());
+	}
+
+
+	@Test public void testReportDocument() throws IOException, FileCorrector.FormatException {
+		SpellChecker sc = new SpellChecker(FileCorrector.make("theFoxMisspellings.txt"), Dictionary.make("theFoxDictionary.txt"));
+		StringWriter out = new StringWriter();
+		assertEquals(3, sc.reportDocument(new TokenScanner(new StringReader("Tghe fox\n  teh 45 brown")), out));
+		assertEquals("{\"word\":\"Tghe\",\"offset\":0,\"line\":1,\"column\":1,\"suggestions\":[\"The\"]}\n"
+				+ "{\"word\":\"teh\",\"offset\":11,\"line\":2,\"column\":3,\"suggestions\":[\"tehe\",\"the\"]}\n"
+				+ "{\"word\":\"brown\",\"offset\":18,\"line\":2,\"column\":10,\"suggestions\":[]}\n", out.toString());
+	}
+
+
+	@Test public void testCorrectDocumentInPipeline() throws IOException {
+		Dictionary dict = Dictionary.make("dictionary.txt");
+		SpellChecker sc = new SpellChecker(new SwapCorrector(dict), dict);
+		String gettysburg = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.UTF_8);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append(gettysburg).append("Fuor scroe and sevne yaers ago");
+		}
+		String doc = sb.toString();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (CorrectionPolicy policy : CorrectionPolicy.values()) {
+				StringWriter expected = new StringWriter();
+				List<Misspelling> misspellings = sc.correctDocument(new TokenScanner(new StringReader(doc)), expected, policy);
+				StringWriter out = new StringWriter();
+				assertEquals(misspellings, sc.correctDocument(new TokenScanner(new StringReader(doc)), out, policy, executor));
+				assertEquals(expected.toString(), out.toString());
+			}
+			StringWriter out = new StringWriter();
+			assertEquals(0, sc.correctDocument(new TokenScanner(new StringReader("")), out, CorrectionPolicy.AUTO, executor).size());
+			assertEquals("", out.toString());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
+	@Test(timeout=5000) public void testCorrectDocumentInPipelineFailure() throws IOException {
+		Dictionary dict = Dictionary.make("smallDictionary.txt");
+		String doc = "zzz ";
+		for (int i = 0; i < 14; i++) {
+			doc += doc;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Writer failing = new StringWriter() {
+				@Override
+				public void write(char[] cbuf, int off, int len) {
+					throw new IllegalStateException("disco lleno");
+				}
+			};
+			try {
+				new SpellChecker(new SwapCorrector(dict), dict).correctDocument(new TokenScanner(new StringReader(doc)),
+						failing, CorrectionPolicy.REPORT, executor);
+				fail("Expected the writer's exception.");
+			} catch (IllegalStateException e) {
+				assertEquals("disco lleno", e.getMessage());
+			}
+			Corrector failingCorrector = new Corrector() {
+				public Set<String> getCorrections(String wrong) {
+					throw new IllegalArgumentException(wrong);
+				}
+			};
+			try {
+				new SpellChecker(failingCorrector, dict).correctDocument(new TokenScanner(new StringReader(doc)),
+						new StringWriter(), CorrectionPolicy.AUTO, executor);
+				fail("Expected the corrector's exception.");
+			} catch (IllegalArgumentException e) {
+				assertEquals("zzz", e.getMessage());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
+	@Test public void testFindMisspellings() throws IOException, FileCorrector.FormatException {
+		SpellChecker sc = new SpellChecker(FileCorrector.make("theFoxMisspellings.txt"), Dictionary.make("theFoxDictionary.txt"));
+		char[] text = "xx Tghe qiuck 45 brown Fox\njumped over $ tje lazy Doggs.".toCharArray();
+		List<Misspelling> misspellings = sc.findMisspellings(text, 3, text.length);
+		assertEquals(5, misspellings.size()); // brown no esta en el diccionario
+		assertEquals("Tghe", misspellings.get(0).getWord());
+		assertEquals(3, misspellings.get(0).getOffset());
+		assertEquals(1, misspellings.get(0).getLine());
+		assertEquals(1, misspellings.get(0).getColumn());
+		assertEquals(Arrays.asList("The"), misspellings.get(0).getCorrections());
+		assertEquals("qiuck", misspellings.get(1).getWord());
+		assertEquals(8, misspellings.get(1).getOffset());
+		assertEquals("Doggs", misspellings.get(4).getWord());
+		assertEquals(2, misspellings.get(4).getLine());
+		assertEquals(24, misspellings.get(4).getColumn());
+		assertEquals("xx", sc.findMisspellings(text, 0, 3).get(0).getWord());
+	}
+
+
+	@Test public void testFindMisspellingsInParallel() throws IOException {
+		Dictionary dict = Dictionary.make("dictionary.txt");
+		SpellChecker sc = new SpellChecker(new SwapCorrector(dict), dict);
+		String gettysburg = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.UTF_8);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append(gettysburg).append("Fuor scroe and sevne yaers ago");
+		}
+		char[] text = sb.toString().toCharArray();
+		List<Misspelling> expected = sc.findMisspellings(text, 0, text.length);
+		assertEquals(2200, expected.size());
+		assertEquals(1, expected.get(0).getLine());
+		assertEquals(5, expected.get(0).getColumn());
+		assertEquals("Fuor", expected.get(11).getWord()); // Segunda copia, en la misma linea que la primera
+		assertEquals(5, expected.get(11).getLine());
+		assertEquals(941, expected.get(11).getColumn());
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(expected, sc.findMisspellings(text, 0, text.length, pool));
+			assertEquals(expected.subList(0, 11), sc.findMisspellings(text, 0, gettysburg.length() + 30, pool));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+
+	@Test public void testFindMisspellingsInvalid() throws IOException {
+		Dictionary dict = Dictionary.make("smallDictionary.txt");
+		SpellChecker sc = new SpellChecker(new SwapCorrector(dict), dict);
+		ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			sc.findMisspellings(null, 0, 0, pool);
+			fail("Expected an IllegalArgumentException - null text.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			sc.findMisspellings(new char[3], 0, 3, null);
+			fail("Expected an IllegalArgumentException - null pool.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			sc.findMisspellings(new char[3], 2, 4, pool);
+			fail("Expected an IllegalArgumentException - out of range.");
+		} catch (IllegalArgumentException e) {
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+
+
 
 	public static void compareDocs(String out, String expected) 
 			throws IOException, FileNotFoundException 
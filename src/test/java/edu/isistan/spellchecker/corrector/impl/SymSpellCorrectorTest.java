@@ -0,0 +1,122 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.Suggestion;
+import edu.isistan.spellchecker.corrector.TrieDictionary;
+
+public class SymSpellCorrectorTest {
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Test public void testConstructorInvalid() throws IOException {
+		try {
+			new SymSpellCorrector(null, 1);
+			fail("Expected an IllegalArgumentException - null dictionary.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new SymSpellCorrector(Dictionary.make("smallDictionary.txt"), 0);
+			fail("Expected an IllegalArgumentException - distance 0.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testCorrections() throws IOException {
+		SymSpellCorrector corr = new SymSpellCorrector(Dictionary.make("smallDictionary.txt"), 1);
+		assertEquals("h -> {a, i, ah, eh, th}",
+				makeSet(new String[]{"a", "i", "ah", "eh", "th"}),
+				corr.getCorrections("h"));
+		assertEquals("H -> {A, I, Ah, Eh, Th}",
+				makeSet(new String[]{"A", "I", "Ah", "Eh", "Th"}),
+				corr.getCorrections("H"));
+		assertEquals("apple -> {}", makeSet(new String[]{}), corr.getCorrections("apple"));
+	}
+
+
+	@Test public void testSameAsTrieLevenshtein() throws IOException {
+		TrieDictionary trie = TrieDictionary.make("dictionary.txt");
+		for (int distance = 1; distance <= 2; distance++) {
+			SymSpellCorrector symSpell = new SymSpellCorrector(trie, distance);
+			Levenshtein lev = new Levenshtein(trie, distance);
+			for (String word : new String[]{"recieve", "Definately", "thsi", "goverment", "libery", "it"}) {
+				assertEquals(word + " (" + distance + ")", lev.getCorrections(word), symSpell.getCorrections(word));
+			}
+		}
+	}
+
+
+	@Test public void testIndexStats() throws IOException {
+		SymSpellCorrector corr = new SymSpellCorrector(Dictionary.make("smallDictionary.txt"), 1);
+		// Al menos cada palabra se indexa a si misma
+		assertTrue(corr.getIndexSize() >= 32);
+		assertTrue(corr.getIndexEntries() >= corr.getIndexSize());
+	}
+
+
+	@Test public void testNull() throws IOException {
+		try {
+			new SymSpellCorrector(Dictionary.make("smallDictionary.txt"), 1).getCorrections(null);
+			fail("Should have thrown an illegal argument exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+
+
+	// Las k primeras correcciones ordenadas por distancia y luego alfabéticamente
+	private List<String> ranked(Set<String> corrections, String wrong, int k) {
+		List<String> sorted = new ArrayList<String>(corrections);
+		Collections.sort(sorted);
+		List<String> result = new ArrayList<String>();
+		for (int d = 1; d <= 3; d++) {
+			for (String word : sorted) {
+				if (EditDistance.levenshtein(wrong, word) == d && result.size() < k) {
+					result.add(word);
+				}
+			}
+		}
+		return result;
+	}
+
+
+	private List<String> words(List<Suggestion> suggestions) {
+		List<String> words = new ArrayList<String>();
+		for (Suggestion suggestion : suggestions) {
+			words.add(suggestion.getWord());
+		}
+		return words;
+	}
+
+
+	@Test public void testSuggestions() throws IOException {
+		SymSpellCorrector corr = new SymSpellCorrector(TrieDictionary.make("dictionary.txt"), 2);
+		for (String word : new String[]{"aple", "Recieve", "thsi", "libery"}) {
+			for (int k : new int[]{1, 3, 10}) {
+				assertEquals(word + " " + k, ranked(corr.getCorrections(word), word, k), words(corr.getSuggestions(word, k)));
+			}
+		}
+		assertTrue(corr.getSuggestions("apple", 5).isEmpty());
+	}
+}
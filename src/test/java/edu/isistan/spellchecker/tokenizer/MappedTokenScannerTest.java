@@ -0,0 +1,185 @@
+package edu.isistan.spellchecker.tokenizer;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedTokenScannerTest {
+	private static final String SPANISH = "El ping\u00fcino comi\u00f3 \u00f1and\u00fa, \u00bfacci\u00f3n? S\u00ed: a\u00f1ejo.\n";
+
+	private File file;
+
+
+	@Before public void setUp() throws IOException {
+		file = File.createTempFile("document", ".txt");
+	}
+
+
+	@After public void tearDown() {
+		file.delete();
+	}
+
+
+	private void write(String text, Charset charset) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		out.write(text.getBytes(charset));
+		out.close();
+	}
+
+
+	private static List<String> tokens(TokenScanner ts) {
+		List<String> tokens = new ArrayList<String>();
+		while (ts.hasNext()) {
+			tokens.add(ts.next());
+		}
+		return tokens;
+	}
+
+
+	@Test public void testSameTokens() throws IOException {
+		Reader in = new FileReader("theFox.txt");
+		List<String> expected = tokens(new TokenScanner(in));
+		in.close();
+		MappedTokenScanner ts = new MappedTokenScanner(new File("theFox.txt"), StandardCharsets.UTF_8);
+		try {
+			assertEquals(expected, tokens(ts));
+		} finally {
+			ts.close();
+		}
+	}
+
+
+	@Test public void testCharsets() throws IOException {
+		List<String> expected = tokens(new TokenScanner(new StringReader(SPANISH)));
+		assertTrue(expected.contains("ping\u00fcino"));
+		for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16 }) {
+			write(SPANISH, charset);
+			MappedTokenScanner ts = new MappedTokenScanner(file, charset);
+			try {
+				assertEquals(charset.name(), expected, tokens(ts));
+			} finally {
+				ts.close();
+			}
+		}
+	}
+
+
+	@Test public void testSmallWindows() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			text.append(SPANISH);
+		}
+		List<String> expected = tokens(new TokenScanner(new StringReader(text.toString())));
+		write(text.toString(), StandardCharsets.UTF_8);
+		// Ventanas de 16 a 19 bytes: los caracteres de dos bytes quedan partidos en todas las posiciones
+		for (int window = 16; window < 20; window++) {
+			MappedTokenScanner ts = new MappedTokenScanner(file, StandardCharsets.UTF_8, window);
+			try {
+				assertEquals("ventana " + window, expected, tokens(ts));
+			} finally {
+				ts.close();
+			}
+		}
+	}
+
+
+	@Test public void testSingleCharReads() throws IOException {
+		String text = "a\u00f1o \ud83d\ude00 fin";
+		write(text, StandardCharsets.UTF_8);
+		Reader in = new MappedFileReader(file, StandardCharsets.UTF_8, 16);
+		StringBuilder read = new StringBuilder();
+		char[] c = new char[1];
+		try {
+			while (in.read(c, 0, 1) > 0) {
+				read.append(c[0]);
+			}
+		} finally {
+			in.close();
+		}
+		assertEquals(text, read.toString());
+	}
+
+
+	@Test public void testByteOffsets() throws IOException {
+		String text = "a\u00f1o \u20acuro\n\ud83d\ude00 fin";
+		Charset[] charsets = { StandardCharsets.UTF_8, StandardCharsets.UTF_16LE, StandardCharsets.ISO_8859_1 };
+		for (Charset charset : charsets) {
+			write(text, charset);
+			MappedTokenScanner ts = new MappedTokenScanner(file, charset, 16);
+			try {
+				while (ts.hasNext()) {
+					Token token = ts.nextToken();
+					String before = text.substring(0, (int) token.getOffset());
+					if (charset.equals(StandardCharsets.ISO_8859_1)) {
+						// Los caracteres que no existen en ISO-8859-1 se escriben como un byte
+						assertEquals(before.length(), token.getByteOffset());
+					} else {
+						assertEquals(charset + " " + token, before.getBytes(charset).length, token.getByteOffset());
+					}
+				}
+			} finally {
+				ts.close();
+			}
+		}
+		write(text, StandardCharsets.UTF_16);
+		MappedTokenScanner ts = new MappedTokenScanner(file, StandardCharsets.UTF_16);
+		try {
+			assertEquals(-1, ts.nextToken().getByteOffset());
+		} finally {
+			ts.close();
+		}
+	}
+
+
+	@Test public void testMalformed() throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		out.write(new byte[] { 'o', 'k', ' ', 'b', (byte) 0xff, 'd', ' ', (byte) 0xc3 });
+		out.close();
+		MappedTokenScanner ts = new MappedTokenScanner(file, StandardCharsets.UTF_8);
+		try {
+			List<String> tokens = tokens(ts);
+			assertEquals("ok", tokens.get(0));
+			assertEquals("b", tokens.get(2));
+			assertEquals("\ufffd", tokens.get(3));
+			assertEquals(" \ufffd", tokens.get(5));
+		} finally {
+			ts.close();
+		}
+	}
+
+
+	@Test public void testEmpty() throws IOException {
+		MappedTokenScanner ts = new MappedTokenScanner(file, StandardCharsets.UTF_8);
+		try {
+			assertFalse(ts.hasNext());
+		} finally {
+			ts.close();
+		}
+	}
+
+
+	@Test public void testInvalid() throws IOException {
+		try {
+			new MappedTokenScanner(new File("noExiste.txt"), StandardCharsets.UTF_8);
+			fail("Expected a FileNotFoundException - missing file.");
+		} catch (FileNotFoundException e) {
+		}
+		try {
+			new MappedTokenScanner(null, StandardCharsets.UTF_8);
+			fail("Expected an IllegalArgumentException - null file.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new MappedTokenScanner(file, null);
+			fail("Expected an IllegalArgumentException - null charset.");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
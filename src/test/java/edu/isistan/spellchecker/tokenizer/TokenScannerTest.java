@@ -1,6 +1,7 @@
 package edu.isistan.spellchecker.tokenizer;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -28,6 +29,17 @@ public class TokenScannerTest {
   }
 
   
+  @Test public void testIsWordCharacterAllChars() {
+    for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+      assertEquals("U+" + Integer.toHexString(c), Character.isLetter(c) || c == '\'', TokenScanner.isWordCharacter(c));
+    }
+    int[] others = { -1, Integer.MIN_VALUE, 0x10000, 0x1D400, 0x10FFFF, 0x110000 };
+    for (int c : others) {
+      assertEquals(Integer.toHexString(c), Character.isLetter(c), TokenScanner.isWordCharacter(c));
+    }
+  }
+
+  
   @Test public void testIsWord() {
       assertTrue(TokenScanner.isWord("a"));
       assertTrue(TokenScanner.isWord("A"));
@@ -89,4 +101,160 @@ public class TokenScannerTest {
     }
   }
 
+
+  @Test public void testSmallBuffer() throws IOException {
+    String text = "They aren't brown,   are they?\n\nsupercalifragilistic";
+    TokenScanner big = new TokenScanner(new StringReader(text));
+    TokenScanner small = new TokenScanner(new StringReader(text), 1);
+    while (big.hasNext()) {
+      assertTrue("has next", small.hasNext());
+      assertEquals(big.next(), small.next());
+    }
+    assertFalse("reached end of stream", small.hasNext());
+  }
+
+
+  @Test public void testAdvance() throws IOException {
+    TokenScanner d = new TokenScanner(new StringReader("recieve,  the"), 4);
+    assertTrue(d.advance());
+    assertEquals("recieve", d.getToken().toString());
+    assertEquals(7, d.getTokenEnd() - d.getTokenStart());
+    assertEquals('r', d.getTokenBuffer()[d.getTokenStart()]);
+    assertTrue(d.advance());
+    assertEquals(",  ", d.getToken().toString());
+    assertTrue(d.advance());
+    assertEquals(3, d.getToken().length());
+    assertEquals('t', d.getToken().charAt(0));
+    assertFalse(d.advance());
+    assertFalse(d.hasNext());
+  }
+
+
+  @Test public void testTokenViewIsReused() throws IOException {
+    TokenScanner d = new TokenScanner(new StringReader("the lazy supercalifragilistic dog"), 4);
+    assertTrue(d.advance());
+    CharSequence first = d.getToken();
+    assertEquals("the", first.toString());
+    assertTrue(d.advance());
+    assertSame(first, d.getToken());
+    assertEquals(" ", first.toString());
+    StringBuilder tokens = new StringBuilder();
+    while (d.advance()) {
+      tokens.append(d.getToken()).append('|');
+    }
+    assertEquals("lazy| |supercalifragilistic| |dog|", tokens.toString());
+  }
+
+
+  @Test public void testFile() throws IOException {
+    Reader in = new BufferedReader(new FileReader("dictionary.txt"));
+    TokenScanner d = new TokenScanner(in);
+    int words = 0;
+    try {
+      while (d.hasNext()) {
+        String token = d.next();
+        if (TokenScanner.isWord(token)) {
+          words++;
+        }
+      }
+    } finally {
+      in.close();
+    }
+    assertTrue(words > 40000);
+  }
+
+
+  @Test public void testArray() throws IOException {
+    char[] text = "xx They aren't, yy".toCharArray();
+    TokenScanner d = new TokenScanner(text, 3, 15);
+    assertTrue(d.advance());
+    assertEquals("They", d.getToken().toString());
+    assertEquals(3, d.getTokenStart());
+    assertSame(text, d.getTokenBuffer());
+    assertEquals(" ", d.next());
+    assertEquals("aren't", d.next());
+    assertEquals(",", d.next());
+    assertFalse(d.hasNext());
+    try {
+      new TokenScanner(text, 3, 30);
+      fail("Expected an IllegalArgumentException - out of range.");
+    } catch (IllegalArgumentException e) {
+    }
+  }
+
+
+  @Test public void testPositions() throws IOException {
+    TokenScanner d = new TokenScanner(new StringReader("One two,\n  three\n\nfour"), 2);
+    assertEquals(new Token(Token.Type.WORD, "One", 0, -1, 1, 1), d.nextToken());
+    assertEquals(new Token(Token.Type.SEPARATOR, " ", 3, -1, 1, 4), d.nextToken());
+    assertEquals(new Token(Token.Type.WORD, "two", 4, -1, 1, 5), d.nextToken());
+    assertEquals(new Token(Token.Type.SEPARATOR, ",\n  ", 7, -1, 1, 8), d.nextToken());
+    Token three = d.nextToken();
+    assertTrue(three.isWord());
+    assertEquals(2, three.getLine());
+    assertEquals(3, three.getColumn());
+    assertEquals(11, three.getOffset());
+    assertFalse(d.nextToken().isWord());
+    assertTrue(d.advance());
+    assertTrue(d.isWordToken());
+    assertEquals(4, d.getTokenLine());
+    assertEquals(1, d.getTokenColumn());
+    assertEquals(18, d.getTokenOffset());
+  }
+
+
+  @Test public void testArrayPositions() throws IOException {
+    char[] text = "xx\nab cd\nef".toCharArray();
+    TokenScanner d = new TokenScanner(text, 3, text.length);
+    assertEquals(new Token(Token.Type.WORD, "ab", 0, -1, 1, 1), d.nextToken());
+    d.nextToken();
+    assertEquals(new Token(Token.Type.WORD, "cd", 3, -1, 1, 4), d.nextToken());
+    d.nextToken();
+    assertEquals(new Token(Token.Type.WORD, "ef", 6, -1, 2, 1), d.nextToken());
+  }
+
+
+  @Test public void testPositionsAreOptIn() throws IOException {
+    TokenScanner d = new TokenScanner(new StringReader("One\ntwo"));
+    assertTrue(d.advance());
+    assertEquals(0, d.getTokenOffset());
+    assertEquals(0, d.getTokenLine());
+    assertEquals(0, d.getTokenColumn());
+    try {
+      d.trackPositions();
+      fail("Expected an IllegalStateException - tokens already read.");
+    } catch (IllegalStateException e) {
+    }
+    d.advance();
+    assertTrue(d.advance());
+    assertEquals(4, d.getTokenOffset());
+    assertEquals(0, d.getTokenLine());
+  }
+
+
+  @Test public void testEmpty() throws IOException {
+    TokenScanner d = new TokenScanner(new StringReader(""));
+    assertFalse(d.hasNext());
+    assertFalse(d.advance());
+    try {
+      d.next();
+      fail("Expected a NoSuchElementException - end of stream.");
+    } catch (NoSuchElementException e) {
+    }
+  }
+
+
+  @Test public void testInvalid() throws IOException {
+    try {
+      new TokenScanner(null);
+      fail("Expected an IllegalArgumentException - null reader.");
+    } catch (IllegalArgumentException e) {
+    }
+    try {
+      new TokenScanner(new StringReader("a"), 0);
+      fail("Expected an IllegalArgumentException - empty buffer.");
+    } catch (IllegalArgumentException e) {
+    }
+  }
+
 }